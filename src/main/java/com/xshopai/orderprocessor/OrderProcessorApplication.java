@@ -1,7 +1,9 @@
 package com.xshopai.orderprocessor;
 
+import com.xshopai.orderprocessor.command.SagaImportCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
@@ -18,6 +20,12 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class OrderProcessorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(OrderProcessorApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(OrderProcessorApplication.class, args);
+
+        // One-shot commands have finished by now; exit with their code instead of serving
+        SagaImportCommand importCommand = context.getBeanProvider(SagaImportCommand.class).getIfAvailable();
+        if (importCommand != null && importCommand.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
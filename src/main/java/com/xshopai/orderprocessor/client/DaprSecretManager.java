@@ -1,14 +1,27 @@
 package com.xshopai.orderprocessor.client;
 
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.EventSummary.Phase;
 import io.dapr.client.DaprClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Dapr Secret Manager
@@ -18,6 +31,12 @@ import java.util.Map;
  * - Local development: colon separator (database:host) via local file store
  * - Azure Key Vault: dash separator (database-host) via Key Vault
  * - Environment variables: underscore separator (database_host) as fallback
+ *
+ * Resolved values are cached for dapr.secrets.cache-ttl and refreshed in the background. Every
+ * refresh consults the Dapr store before environment variables, so a secret that fell back to
+ * the environment while the sidecar was starting picks up the store value (and rotations) later;
+ * the key format that resolved it last time is only tried first within its source. All known
+ * keys are prefetched at startup with one bulk call, falling back to parallel lookups.
  */
 @Service
 @Slf4j
@@ -26,12 +45,49 @@ public class DaprSecretManager {
 
     private static final String SECRET_STORE_NAME = "secretstore";
 
+    /**
+     * Secrets read during startup, prefetched together instead of one by one
+     */
+    static final List<String> KNOWN_KEYS = List.of(
+        "database:host", "database:port", "database:name", "database:user", "database:password",
+        "database:replica-host", "database:replica-port", "database:replica-name",
+        "database:replica-user", "database:replica-password",
+        "jwt:secret");
+
     private final DaprClient daprClient;
     private final Environment environment;
 
+    private final Map<String, CachedSecret> cache = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    @Value("${dapr.secrets.cache-ttl:10m}")
+    private Duration cacheTtl;
+
+    @Value("${dapr.secrets.refresh-interval:5m}")
+    private Duration refreshInterval;
+
+    @Value("${dapr.secrets.prefetch-timeout:5s}")
+    private Duration prefetchTimeout;
+
     @PostConstruct
     public void init() {
-        log.info("Dapr Secret Manager initialized with store: {}", SECRET_STORE_NAME);
+        prefetch();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("secret-refresh-");
+        threadFactory.setDaemon(true);
+        refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long intervalMs = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Dapr Secret Manager initialized with store: {} ({} secrets cached, ttl {})",
+            SECRET_STORE_NAME, cache.size(), cacheTtl);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
     }
 
     /**
@@ -44,41 +100,138 @@ public class DaprSecretManager {
      * 3. Environment variable with underscore separator (database_host) - ACA env vars
      */
     public String getSecret(String key) {
-        // Try colon-separated key first (local file secret store)
-        String value = tryGetDaprSecret(key);
-        if (value != null) {
-            return value;
+        String value = resolveSecret(key);
+        if (value == null) {
+            log.warn("Secret not found with any key format: {}", key);
         }
-        
-        // Try dash-separated key (Azure Key Vault format)
-        String dashKey = key.replace(":", "-");
-        if (!dashKey.equals(key)) {
-            value = tryGetDaprSecret(dashKey);
+        return value;
+    }
+
+    /**
+     * Get an optional secret, returning null without a warning when it is not configured
+     */
+    public String getOptionalSecret(String key) {
+        String value = resolveSecret(key);
+        if (value == null) {
+            log.debug("Optional secret not configured: {}", key);
+        }
+        return value;
+    }
+
+    /**
+     * Resolve a secret from the cache, loading it when missing or expired
+     */
+    private String resolveSecret(String key) {
+        CachedSecret cached = cache.get(key);
+        if (cached != null && !cached.isExpired(cacheTtl)) {
+            return cached.value();
+        }
+        return reload(key, cached).value();
+    }
+
+    /**
+     * Load a secret and cache it. A previously resolved value is kept when the reload finds
+     * nothing, so a sidecar outage doesn't wipe secrets that were already known.
+     */
+    private CachedSecret reload(String key, CachedSecret previous) {
+        CachedSecret loaded = load(key, previous != null ? previous.format() : null);
+        if (loaded.value() == null && previous != null && previous.value() != null) {
+            log.warn("Could not refresh secret {}, keeping cached value", key);
+            loaded = new CachedSecret(previous.value(), previous.format(), System.nanoTime());
+        }
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Resolve a secret using the multi-format fallback described on getSecret. The Dapr store
+     * always goes before environment variables; the format that resolved it last time is only
+     * moved to the front of its own source.
+     */
+    private CachedSecret load(String key, KeyFormat preferred) {
+        for (KeyFormat format : KeyFormat.lookupOrder(preferred)) {
+            String value = lookup(key, format);
             if (value != null) {
-                log.debug("Found secret using dash separator: {}", dashKey);
-                return value;
+                log.debug("Found secret {} using {} format: {}", key, format, format.keyFor(key));
+                return new CachedSecret(value, format, System.nanoTime());
             }
         }
-        
-        // Fall back to environment variable (underscore separator)
-        String envKey = key.replace(":", "_").replace("-", "_").toUpperCase();
-        value = environment.getProperty(envKey);
-        if (value != null) {
-            log.debug("Found secret from environment variable: {}", envKey);
-            return value;
+
+        log.debug("Secret not found with any key format: {}", key);
+        return new CachedSecret(null, null, System.nanoTime());
+    }
+
+    private String lookup(String key, KeyFormat format) {
+        String formattedKey = format.keyFor(key);
+        return switch (format) {
+            case COLON -> tryGetDaprSecret(formattedKey);
+            // Keys without a colon were already tried as-is
+            case DASH -> formattedKey.equals(key) ? null : tryGetDaprSecret(formattedKey);
+            case ENV_UPPER, ENV_LOWER -> environment.getProperty(formattedKey);
+        };
+    }
+
+    /**
+     * Prefetch all known keys, with one bulk call when the store supports it and parallel
+     * lookups for whatever the bulk call didn't return
+     */
+    void prefetch() {
+        long start = System.nanoTime();
+        List<String> remaining = new ArrayList<>(KNOWN_KEYS);
+
+        try {
+            Map<String, Map<String, String>> bulk =
+                daprClient.getBulkSecret(SECRET_STORE_NAME).block(prefetchTimeout);
+            if (bulk != null) {
+                remaining.removeIf(key -> cacheFromBulk(key, bulk));
+            }
+        } catch (Exception e) {
+            log.debug("Bulk secret retrieval unavailable, prefetching individually: {}", e.getMessage());
         }
-        
-        // Also try lowercase underscore format
-        String lowerEnvKey = key.replace(":", "_").replace("-", "_");
-        value = environment.getProperty(lowerEnvKey);
-        if (value != null) {
-            log.debug("Found secret from environment variable: {}", lowerEnvKey);
-            return value;
+
+        if (!remaining.isEmpty()) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<CachedSecret>> loads = new ArrayList<>();
+                for (String key : remaining) {
+                    loads.add(executor.submit(() -> reload(key, null)));
+                }
+                for (Future<CachedSecret> load : loads) {
+                    load.get();
+                }
+            } catch (Exception e) {
+                log.warn("Secret prefetch did not complete: {}", e.getMessage());
+            }
+        }
+
+        log.info("Prefetched {} secrets ({} via bulk) in {} ms", KNOWN_KEYS.size(),
+            KNOWN_KEYS.size() - remaining.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private boolean cacheFromBulk(String key, Map<String, Map<String, String>> bulk) {
+        for (KeyFormat format : List.of(KeyFormat.COLON, KeyFormat.DASH)) {
+            Map<String, String> secret = bulk.get(format.keyFor(key));
+            if (secret != null && !secret.isEmpty()) {
+                String value = secret.values().iterator().next();
+                if (value != null) {
+                    cache.put(key, new CachedSecret(value, format, System.nanoTime()));
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Re-resolve every cached secret ahead of expiry so callers never wait on the sidecar
+     */
+    void refreshAll() {
+        for (Map.Entry<String, CachedSecret> entry : cache.entrySet()) {
+            try {
+                reload(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.warn("Failed to refresh secret {}: {}", entry.getKey(), e.getMessage());
+            }
         }
-        
-        log.warn("Secret not found with any key format: {} (tried: {}, {}, {}, {})", 
-            key, key, dashKey, envKey, lowerEnvKey);
-        return null;
     }
     
     /**
@@ -88,7 +241,9 @@ public class DaprSecretManager {
         try {
             log.debug("Attempting to retrieve secret from Dapr: {}", key);
             
+            long start = System.nanoTime();
             Map<String, String> secret = daprClient.getSecret(SECRET_STORE_NAME, key).block();
+            EventSummary.recordPhase(Phase.SECRET, System.nanoTime() - start);
             
             if (secret == null || secret.isEmpty()) {
                 return null;
@@ -111,7 +266,10 @@ public class DaprSecretManager {
     public Map<String, String> getSecrets(String key) {
         try {
             log.debug("Retrieving secrets for key: {}", key);
-            return daprClient.getSecret(SECRET_STORE_NAME, key).block();
+            long start = System.nanoTime();
+            Map<String, String> secrets = daprClient.getSecret(SECRET_STORE_NAME, key).block();
+            EventSummary.recordPhase(Phase.SECRET, System.nanoTime() - start);
+            return secrets;
         } catch (Exception e) {
             log.error("Failed to retrieve secrets for key: {}", key, e);
             throw new RuntimeException("Failed to retrieve secrets", e);
@@ -132,6 +290,31 @@ public class DaprSecretManager {
         return new DatabaseConfig(host, port, name, user, password);
     }
 
+    /**
+     * Get read replica database configuration from secrets
+     * Uses database:replica-host and database:replica-port; name and credentials
+     * fall back to the primary values when no replica-specific secret exists.
+     * Returns null when no replica host is configured.
+     */
+    public DatabaseConfig getReplicaDatabaseConfig() {
+        String host = getOptionalSecret("database:replica-host");
+        if (host == null || host.isEmpty()) {
+            return null;
+        }
+
+        String port = getSecretWithFallback("database:replica-port", "database:port");
+        String name = getSecretWithFallback("database:replica-name", "database:name");
+        String user = getSecretWithFallback("database:replica-user", "database:user");
+        String password = getSecretWithFallback("database:replica-password", "database:password");
+
+        return new DatabaseConfig(host, port, name, user, password);
+    }
+
+    private String getSecretWithFallback(String key, String fallbackKey) {
+        String value = getOptionalSecret(key);
+        return value != null ? value : getSecret(fallbackKey);
+    }
+
     /**
      * Get JWT secret
      * Uses nested structure: jwt:secret
@@ -152,6 +335,48 @@ public class DaprSecretManager {
         return new ServiceUrls(orderService, paymentService, inventoryService, shippingService);
     }
 
+    /**
+     * Key formats tried in order of precedence
+     */
+    enum KeyFormat {
+        COLON, DASH, ENV_UPPER, ENV_LOWER;
+
+        boolean isDapr() {
+            return this == COLON || this == DASH;
+        }
+
+        /**
+         * All formats, Dapr formats first, with the preferred format first within its source
+         */
+        static List<KeyFormat> lookupOrder(KeyFormat preferred) {
+            List<KeyFormat> order = new ArrayList<>(List.of(values()));
+            if (preferred != null) {
+                order.remove(preferred);
+                int sourceStart = preferred.isDapr() ? 0 : (int) order.stream().filter(KeyFormat::isDapr).count();
+                order.add(sourceStart, preferred);
+            }
+            return order;
+        }
+
+        String keyFor(String key) {
+            return switch (this) {
+                case COLON -> key;
+                case DASH -> key.replace(":", "-");
+                case ENV_UPPER -> key.replace(":", "_").replace("-", "_").toUpperCase();
+                case ENV_LOWER -> key.replace(":", "_").replace("-", "_");
+            };
+        }
+    }
+
+    /**
+     * Cached secret value (null when not configured) and the format that resolved it
+     */
+    private record CachedSecret(String value, KeyFormat format, long loadedAtNanos) {
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - loadedAtNanos > ttl.toNanos();
+        }
+    }
+
     // Inner classes for structured configuration
     public record DatabaseConfig(
         String host,
@@ -0,0 +1,66 @@
+package com.xshopai.orderprocessor.command;
+
+import com.xshopai.orderprocessor.logging.TraceContext;
+import com.xshopai.orderprocessor.service.SagaBulkImportService;
+import com.xshopai.orderprocessor.service.SagaBulkImportService.ImportResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Bulk saga import command
+ *
+ * Backfills sagas for orders created while the processor was down. Activated by setting
+ * saga.import.file, e.g.:
+ *
+ *   java -jar order-processor-service.jar --spring.main.web-application-type=none \
+ *        --saga.import.file=/data/order-created.ndjson
+ *
+ * The application exits once the import finishes unless saga.import.exit-on-completion=false;
+ * OrderProcessorApplication closes the context and exits with this command's exit code
+ * (1 when the import failed).
+ */
+@Component
+@ConditionalOnProperty(name = "saga.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class SagaImportCommand implements ApplicationRunner, ExitCodeGenerator {
+
+    private final SagaBulkImportService importService;
+
+    @Value("${saga.import.file}")
+    private String importFile;
+
+    @Value("${saga.import.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    private volatile int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try (TraceContext.Scope ignored = TraceContext.newRoot().open()) {
+            ImportResult result = importService.importFile(Path.of(importFile));
+            log.info("Saga import complete: {} inserted, {} duplicates, {} rejected",
+                    result.rowsInserted(), result.duplicatesSkipped(), result.rowsRejected());
+        } catch (Exception e) {
+            log.error("Saga import failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public boolean isExitOnCompletion() {
+        return exitOnCompletion;
+    }
+}
@@ -0,0 +1,21 @@
+package com.xshopai.orderprocessor.config;
+
+import com.xshopai.orderprocessor.logging.TraceContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Context propagation configuration
+ * Carries the caller's TraceContext into tasks run by Spring-managed executors (@Async and
+ * the auto-configured application task executor). Executors the services create themselves
+ * use TraceContext.wrap or TraceContext.propagating directly.
+ */
+@Configuration
+public class ContextPropagationConfig {
+
+    @Bean
+    public TaskDecorator traceContextTaskDecorator() {
+        return TraceContext::wrap;
+    }
+}
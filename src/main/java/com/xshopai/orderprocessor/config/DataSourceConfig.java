@@ -1,16 +1,22 @@
 package com.xshopai.orderprocessor.config;
 
 import com.xshopai.orderprocessor.client.DaprSecretManager;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * DataSource configuration with multi-source support
@@ -22,19 +28,58 @@ import javax.sql.DataSource;
  * This allows the service to work both:
  * - Locally with Dapr file-based secret store
  * - On Azure with direct environment variables or Key Vault
+ * 
+ * The primary database is served by one Hikari pool per DatabaseWorkload (ingestion,
+ * background, admin), each sized via spring.datasource.pools.<name>.*. An optional read
+ * replica is resolved the same way as the primary (SPRING_DATASOURCE_REPLICA_URL or
+ * database:replica-host) and serves @Transactional(readOnly = true) work while it is healthy.
+ * All pools publish hikaricp.* metrics tagged with their pool name. Statements pass through a
+ * datasource-proxy listener feeding StatementCounter.
  */
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
 public class DataSourceConfig {
 
+    private static final Map<String, Integer> DEFAULT_POOL_SIZES = Map.of(
+        "ingestion", 10,
+        "background", 5,
+        "admin", 4,
+        WorkloadRoutingDataSource.REPLICA_POOL, 6
+    );
+
     private final DaprSecretManager secretManager;
     private final Environment environment;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public DataSource dataSource() {
         log.info("Configuring DataSource...");
-        
+
+        ConnectionSettings primarySettings = resolvePrimary();
+        Map<DatabaseWorkload, HikariDataSource> workloadPools = new EnumMap<>(DatabaseWorkload.class);
+        for (DatabaseWorkload workload : DatabaseWorkload.values()) {
+            workloadPools.put(workload, buildPool(workload.getPoolName(), primarySettings, false));
+        }
+
+        ConnectionSettings replicaSettings = resolveReplica();
+        HikariDataSource replica = replicaSettings != null
+            ? buildPool(WorkloadRoutingDataSource.REPLICA_POOL, replicaSettings, true)
+            : null;
+
+        Duration maxLag = environment.getProperty("spring.datasource.replica.max-lag", Duration.class, Duration.ofSeconds(10));
+        Duration checkInterval = environment.getProperty("spring.datasource.replica.check-interval", Duration.class, Duration.ofSeconds(5));
+        if (replica != null) {
+            log.info("Read replica configured (max lag {}, check interval {})", maxLag, checkInterval);
+        } else {
+            log.info("No read replica configured, read-only queries use the workload pools");
+        }
+
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(workloadPools, replica, maxLag, checkInterval);
+        return new RoutingDataSourceProxy(routing, StatementCounter.countingDataSource(routing, "saga-db"));
+    }
+
+    private ConnectionSettings resolvePrimary() {
         // Check for Spring standard properties first (set via environment variables)
         String springUrl = environment.getProperty("spring.datasource.url");
         String springUsername = environment.getProperty("spring.datasource.username");
@@ -44,13 +89,7 @@ public class DataSourceConfig {
             log.info("Using Spring DataSource properties from environment");
             log.info("Database URL: {}", springUrl.replaceAll("password=[^&]*", "password=***"));
             
-            return DataSourceBuilder.create()
-                .type(HikariDataSource.class)
-                .url(springUrl)
-                .username(springUsername)
-                .password(springPassword)
-                .driverClassName("org.postgresql.Driver")
-                .build();
+            return new ConnectionSettings(springUrl, springUsername, springPassword);
         }
         
         // Fall back to Dapr Secret Manager
@@ -67,12 +106,78 @@ public class DataSourceConfig {
         log.info("Database configuration loaded: host={}, port={}, database={}", 
             dbConfig.host(), dbConfig.port(), dbConfig.name());
         
-        return DataSourceBuilder.create()
+        return new ConnectionSettings(dbConfig.getJdbcUrl(), dbConfig.user(), dbConfig.password());
+    }
+
+    private ConnectionSettings resolveReplica() {
+        String replicaUrl = environment.getProperty("spring.datasource.replica.url");
+        if (replicaUrl != null && !replicaUrl.isEmpty()) {
+            log.info("Replica URL: {}", replicaUrl.replaceAll("password=[^&]*", "password=***"));
+            return new ConnectionSettings(replicaUrl,
+                environment.getProperty("spring.datasource.replica.username", environment.getProperty("spring.datasource.username")),
+                environment.getProperty("spring.datasource.replica.password", environment.getProperty("spring.datasource.password")));
+        }
+
+        DaprSecretManager.DatabaseConfig replicaConfig = secretManager.getReplicaDatabaseConfig();
+        if (replicaConfig == null) {
+            return null;
+        }
+
+        log.info("Replica configuration loaded: host={}, port={}, database={}",
+            replicaConfig.host(), replicaConfig.port(), replicaConfig.name());
+        return new ConnectionSettings(replicaConfig.getJdbcUrl(), replicaConfig.user(), replicaConfig.password());
+    }
+
+    private HikariDataSource buildPool(String name, ConnectionSettings settings, boolean readOnly) {
+        String prefix = "spring.datasource.pools." + name + ".";
+        int maximumPoolSize = environment.getProperty(prefix + "maximum-pool-size", Integer.class, DEFAULT_POOL_SIZES.get(name));
+        int minimumIdle = environment.getProperty(prefix + "minimum-idle", Integer.class, Math.min(2, maximumPoolSize));
+        Duration connectionTimeout = environment.getProperty(prefix + "connection-timeout", Duration.class, Duration.ofSeconds(30));
+
+        HikariDataSource dataSource = DataSourceBuilder.create()
             .type(HikariDataSource.class)
-            .url(dbConfig.getJdbcUrl())
-            .username(dbConfig.user())
-            .password(dbConfig.password())
+            .url(settings.url())
+            .username(settings.username())
+            .password(settings.password())
             .driverClassName("org.postgresql.Driver")
             .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        dataSource.setReadOnly(readOnly);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        if (readOnly) {
+            // Don't block startup on the replica; the routing DataSource falls back to the primary
+            dataSource.setInitializationFailTimeout(-1);
+        }
+
+        log.info("Connection pool '{}': maximumPoolSize={}, minimumIdle={}, connectionTimeout={}",
+            name, maximumPoolSize, minimumIdle, connectionTimeout);
+        return dataSource;
+    }
+
+    private record ConnectionSettings(String url, String username, String password) {
+    }
+
+    /**
+     * Defers fetching a physical connection until the first statement, by which point the
+     * transaction's read-only flag is set and the routing DataSource can pick a target.
+     * Closing it shuts down all pools and the replica monitor. The target is the routing
+     * DataSource behind the statement-counting proxy; unwrap still reaches the routing one.
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final WorkloadRoutingDataSource routingDataSource;
+
+        RoutingDataSourceProxy(WorkloadRoutingDataSource routingDataSource, DataSource target) {
+            super(target);
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Override
+        public void close() {
+            routingDataSource.close();
+        }
     }
 }
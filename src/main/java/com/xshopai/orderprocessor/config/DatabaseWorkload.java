@@ -0,0 +1,59 @@
+package com.xshopai.orderprocessor.config;
+
+/**
+ * Database workload classes, each served by its own connection pool
+ *
+ * The current thread's workload decides which pool WorkloadRoutingDataSource hands out,
+ * so a heavy admin page cannot exhaust the connections event processing depends on.
+ * Threads that never declare a workload (schedulers, startup, imports) count as BACKGROUND.
+ */
+public enum DatabaseWorkload {
+
+    /** Dapr event consumers driving saga transitions */
+    INGESTION("ingestion"),
+
+    /** Scheduled jobs, bulk imports and startup work */
+    BACKGROUND("background"),
+
+    /** Admin, reporting and operational endpoints */
+    ADMIN("admin");
+
+    private static final ThreadLocal<DatabaseWorkload> CURRENT = new ThreadLocal<>();
+
+    private final String poolName;
+
+    DatabaseWorkload(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Workload of the current thread, BACKGROUND when none was declared
+     */
+    public static DatabaseWorkload current() {
+        DatabaseWorkload workload = CURRENT.get();
+        return workload != null ? workload : BACKGROUND;
+    }
+
+    /**
+     * Make the given workload current for this thread
+     *
+     * @return the previous workload, to be passed to restore() when the work completes
+     */
+    public static DatabaseWorkload enter(DatabaseWorkload workload) {
+        DatabaseWorkload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(DatabaseWorkload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.xshopai.orderprocessor.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional connection pool auto-sizing
+ *
+ * Every interval, grows a pool when threads were waiting for a connection or the mean
+ * acquire time exceeded the target, and shrinks it back towards its configured size after
+ * several quiet intervals with less than half the pool in use. Sizes never leave
+ * [configured size, max-pool-size]. Enabled with spring.datasource.pools.auto-size.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.datasource.pools.auto-size.enabled", havingValue = "true")
+@Slf4j
+public class PoolAutoSizer {
+
+    private final Map<String, PoolState> states = new HashMap<>();
+    private final WorkloadRoutingDataSource routingDataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.pools.auto-size.max-pool-size:30}")
+    private int maxPoolSize;
+
+    @Value("${spring.datasource.pools.auto-size.target-wait:50ms}")
+    private Duration targetWait;
+
+    @Value("${spring.datasource.pools.auto-size.shrink-after-intervals:6}")
+    private int shrinkAfterIntervals;
+
+    public PoolAutoSizer(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(WorkloadRoutingDataSource.class);
+        this.meterRegistry = meterRegistry;
+        routingDataSource.getPools().forEach((name, pool) -> states.put(name, new PoolState(pool.getMaximumPoolSize())));
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.pools.auto-size.interval-ms:10000}")
+    public void resize() {
+        routingDataSource.getPools().forEach(this::resize);
+    }
+
+    private void resize(String name, HikariDataSource pool) {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null) {
+            return; // pool not started yet
+        }
+        PoolState state = states.get(name);
+        int current = pool.getHikariConfigMXBean().getMaximumPoolSize();
+        int waiting = poolBean.getThreadsAwaitingConnection();
+        int active = poolBean.getActiveConnections();
+        double meanWaitMs = state.meanWaitSinceLastSample(meterRegistry.find("hikaricp.connections.acquire").tag("pool", name).timer());
+
+        int target = current;
+        if (waiting > 0 || meanWaitMs > targetWait.toMillis()) {
+            target = Math.min(maxPoolSize, current + Math.max(1, waiting));
+            state.quietIntervals = 0;
+        } else if (active < current / 2) {
+            if (++state.quietIntervals >= shrinkAfterIntervals) {
+                target = Math.max(state.baselineSize, current - 1);
+                state.quietIntervals = 0;
+            }
+        } else {
+            state.quietIntervals = 0;
+        }
+
+        if (target != current) {
+            pool.getHikariConfigMXBean().setMaximumPoolSize(target);
+            log.info("Resized connection pool '{}' from {} to {} (active={}, waiting={}, meanWait={}ms)",
+                name, current, target, active, waiting, String.format("%.1f", meanWaitMs));
+        }
+    }
+
+    private static final class PoolState {
+        private final int baselineSize;
+        private int quietIntervals;
+        private long lastCount;
+        private double lastTotalMs;
+
+        private PoolState(int baselineSize) {
+            this.baselineSize = baselineSize;
+        }
+
+        private double meanWaitSinceLastSample(Timer acquireTimer) {
+            if (acquireTimer == null) {
+                return 0;
+            }
+            long count = acquireTimer.count();
+            double totalMs = acquireTimer.totalTime(TimeUnit.MILLISECONDS);
+            long deltaCount = count - lastCount;
+            double deltaMs = totalMs - lastTotalMs;
+            lastCount = count;
+            lastTotalMs = totalMs;
+            return deltaCount > 0 ? deltaMs / deltaCount : 0;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.xshopai.orderprocessor.config;
 
 import com.xshopai.orderprocessor.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
@@ -34,7 +36,6 @@ public class SecurityConfig {
                     // Operational endpoints (no auth required)
                     .requestMatchers("/", "/version", "/health", "/readiness", "/liveness", "/metrics").permitAll()
                     .requestMatchers("/actuator/**").permitAll()
-                    .requestMatchers("/dapr/**").permitAll()  // Allow Dapr pub/sub subscriptions
                     .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             )
@@ -45,4 +46,25 @@ public class SecurityConfig {
             
         return http.build();
     }
+
+    /**
+     * Keep Dapr sidecar traffic out of the security chain entirely
+     * Pub/sub deliveries and subscription discovery (/dapr/**) carry no user identity; they are
+     * authenticated by DaprIngressFilter with the Dapr app API token instead.
+     */
+    @Bean
+    public WebSecurityCustomizer daprIngressSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers("/dapr/**");
+    }
+
+    /**
+     * Stop Spring Boot from also registering the JWT filter as a servlet filter, so it only runs
+     * inside the security chain
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -0,0 +1,51 @@
+package com.xshopai.orderprocessor.config;
+
+import com.xshopai.orderprocessor.tracing.ExemplarSpanContext;
+import com.xshopai.orderprocessor.tracing.SlowTraceSpanProcessor;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tracing configuration
+ * Spans are exported over OTLP by Spring Boot's tracing auto-configuration. With
+ * saga.tracing.export=slow, a SlowTraceSpanProcessor bean feeds Boot's exporting
+ * BatchSpanProcessor and takes its place in the tracer provider, so only slow, failed or
+ * exemplar traces leave the process; with all, every sampled trace is exported.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SpanContext exemplarSpanContext() {
+        return new ExemplarSpanContext();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "saga.tracing.export", havingValue = "slow")
+    public SlowTraceSpanProcessor slowTraceSpanProcessor(BatchSpanProcessor otelSpanProcessor,
+                                                         @Value("${saga.tracing.slow-threshold:500ms}") Duration slowThreshold) {
+        return new SlowTraceSpanProcessor(otelSpanProcessor, slowThreshold);
+    }
+
+    /**
+     * Replaces Boot's SpanProcessors so the exporting processor is only reached through the
+     * slow trace filter instead of also receiving every span directly
+     */
+    @Bean
+    @ConditionalOnProperty(name = "saga.tracing.export", havingValue = "slow")
+    public SpanProcessors spanProcessors(ObjectProvider<SpanProcessor> spanProcessors,
+                                         BatchSpanProcessor otelSpanProcessor) {
+        return SpanProcessors.of(spanProcessors.orderedStream()
+            .filter(processor -> processor != otelSpanProcessor)
+            .toList());
+    }
+}
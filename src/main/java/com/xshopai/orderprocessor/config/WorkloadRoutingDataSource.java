@@ -0,0 +1,179 @@
+package com.xshopai.orderprocessor.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload and read/write routing DataSource
+ *
+ * Write work is served by the pool of the current thread's DatabaseWorkload, so ingestion,
+ * background jobs and admin queries cannot starve each other. Connections requested inside
+ * @Transactional(readOnly = true) work go to the read replica when one is configured.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the physical connection is only
+ * fetched after the transaction's read-only flag is known.
+ *
+ * The replica is only used while it is reachable and its replay lag is below the configured
+ * maximum; otherwise read-only work falls back to the workload pool until the next successful check.
+ * Pools are resolved through the routing target map; getConnection only adds the fallback for a
+ * replica that fails to hand out a connection.
+ */
+@Slf4j
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String REPLICA_POOL = "replica";
+
+    // Lag is zero when the replica has replayed everything it received, otherwise the age of
+    // the last replayed transaction (an idle primary would otherwise look like growing lag)
+    private static final String REPLICA_LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0)
+            END
+            """;
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final Map<DatabaseWorkload, HikariDataSource> workloadPools;
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private final ScheduledExecutorService monitor;
+
+    private volatile boolean replicaAvailable = false;
+
+    /**
+     * @param workloadPools one primary pool per workload
+     * @param replica read replica pool, or null when no replica is configured
+     */
+    public WorkloadRoutingDataSource(Map<DatabaseWorkload, HikariDataSource> workloadPools, HikariDataSource replica,
+                                     Duration maxLag, Duration checkInterval) {
+        this.workloadPools = new EnumMap<>(workloadPools);
+        this.replica = replica;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(this.workloadPools);
+        if (replica != null) {
+            targets.put(REPLICA_POOL, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(this.workloadPools.get(DatabaseWorkload.BACKGROUND));
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        if (replica != null) {
+            this.monitor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-monitor-"));
+            this.monitor.scheduleWithFixedDelay(this::checkReplica, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.monitor = null;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return REPLICA_POOL;
+        }
+        return DatabaseWorkload.current();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markReplicaUnavailable("connection failed: " + e.getMessage());
+            return workloadPools.get(DatabaseWorkload.current()).getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Pools are configured with their own credentials
+        return getConnection();
+    }
+
+    /**
+     * Open an unpooled connection to the primary with the background pool's settings, for
+     * long-lived sessions (e.g. LISTEN) that would otherwise pin a pooled connection forever
+     */
+    public Connection openDedicatedConnection() throws SQLException {
+        HikariDataSource background = workloadPools.get(DatabaseWorkload.BACKGROUND);
+        return DriverManager.getConnection(background.getJdbcUrl(), background.getUsername(), background.getPassword());
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * All pools keyed by pool name, workload pools first
+     */
+    public Map<String, HikariDataSource> getPools() {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        workloadPools.forEach((workload, pool) -> pools.put(workload.getPoolName(), pool));
+        if (replica != null) {
+            pools.put(REPLICA_POOL, replica);
+        }
+        return Collections.unmodifiableMap(pools);
+    }
+
+    /**
+     * Probe the replica and update availability from its replay lag
+     */
+    void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(REPLICA_LAG_SQL)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markReplicaUnavailable(String.format("replication lag %.1fs exceeds %s", lagSeconds, maxLag));
+                } else if (!replicaAvailable) {
+                    replicaAvailable = true;
+                    log.info("Read replica available (lag {}s), routing read-only transactions to replica",
+                            String.format("%.1f", lagSeconds));
+                }
+            }
+        } catch (Exception e) {
+            markReplicaUnavailable("health check failed: " + e.getMessage());
+        }
+    }
+
+    private void markReplicaUnavailable(String reason) {
+        if (replicaAvailable) {
+            log.warn("Read replica unavailable ({}), routing read-only transactions to primary", reason);
+        }
+        replicaAvailable = false;
+    }
+
+    @Override
+    public void close() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+        }
+        getPools().values().forEach(HikariDataSource::close);
+    }
+}
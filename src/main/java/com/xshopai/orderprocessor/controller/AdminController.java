@@ -1,14 +1,38 @@
 package com.xshopai.orderprocessor.controller;
 
+import com.xshopai.orderprocessor.model.dto.CursorPage;
+import com.xshopai.orderprocessor.model.dto.SagaCursor;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.dto.SagaSummary;
 import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
 import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository.SagaVersion;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import com.xshopai.orderprocessor.service.SagaExportService;
+import com.xshopai.orderprocessor.service.SagaExportService.ExportFormat;
+import com.xshopai.orderprocessor.service.SagaStatusCounters;
+import com.xshopai.orderprocessor.service.SagaTransitionBroadcaster;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -19,7 +43,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final OrderProcessingSagaRepository sagaRepository;
+    private final SagaStatusCounters statusCounters;
+    private final SagaQueryRepository sagaQueryRepository;
+    private final SagaExportService sagaExportService;
+    private final SagaTransitionBroadcaster transitionBroadcaster;
+
+    @Value("${saga.export.timeout:30m}")
+    private Duration exportTimeout;
 
     /**
      * Get all sagas with pagination
@@ -29,41 +62,133 @@ public class AdminController {
         return ResponseEntity.ok(sagaRepository.findAll(pageable));
     }
 
+    /**
+     * List sagas newest first using cursor pagination
+     * Pass the returned nextCursor to fetch the following page
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<SagaSummary>> getSagasByCursor(
+            @RequestParam(required = false) OrderProcessingSaga.SagaStatus status,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        SagaCursor after = cursor != null && !cursor.isEmpty() ? SagaCursor.decode(cursor) : null;
+        return ResponseEntity.ok(sagaQueryRepository.findPage(
+            new SagaSearchCriteria(status, customerId), after, clampLimit(limit)));
+    }
+
+    /**
+     * Search sagas by product, customer, status, creation time range and error text
+     * Results are newest first with cursor pagination, like /cursor
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<SagaSummary>> searchSagas(
+            @RequestParam(required = false) String productId,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) OrderProcessingSaga.SagaStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String error,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        SagaSearchCriteria criteria = new SagaSearchCriteria(
+            status, blankToNull(customerId), blankToNull(productId), from, to, blankToNull(error));
+        SagaCursor after = cursor != null && !cursor.isEmpty() ? SagaCursor.decode(cursor) : null;
+        return ResponseEntity.ok(sagaQueryRepository.findPage(criteria, after, clampLimit(limit)));
+    }
+
+    /**
+     * Export all matching sagas as NDJSON or CSV, optionally gzipped
+     * Rows are streamed from a database cursor, so exports of any size use constant memory.
+     * The download runs as its own async task so only it gets the long export timeout.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportSagas(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) OrderProcessingSaga.SagaStatus status,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        SagaSearchCriteria criteria = new SagaSearchCriteria(status, customerId);
+        String filename = "sagas-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            sagaExportService.export(criteria, format, gzip, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    /**
+     * Live feed of saga status changes as server-sent events
+     * Sends "snapshot" events with counts per status and "transition" events for each change
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSagaTransitions() {
+        return transitionBroadcaster.subscribe()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     /**
      * Get saga by ID
+     * Responds with an ETag; If-None-Match is answered with 304 from a version-only lookup
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderProcessingSaga> getSagaById(@PathVariable UUID id) {
+    public ResponseEntity<OrderProcessingSaga> getSagaById(@PathVariable UUID id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<SagaVersion> current = sagaRepository.findVersionById(id);
+            if (current.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(eTag(current.get().getId(), current.get().getVersion()))) {
+                return null;
+            }
+        }
         return sagaRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(AdminController::withETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Get saga by order ID
+     * Responds with an ETag; If-None-Match is answered with 304 from a version-only lookup
      */
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<OrderProcessingSaga> getSagaByOrderId(@PathVariable UUID orderId) {
+    public ResponseEntity<OrderProcessingSaga> getSagaByOrderId(@PathVariable UUID orderId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<SagaVersion> current = sagaRepository.findVersionByOrderId(orderId);
+            if (current.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(eTag(current.get().getId(), current.get().getVersion()))) {
+                return null;
+            }
+        }
         return sagaRepository.findByOrderId(orderId)
-                .map(ResponseEntity::ok)
+                .map(AdminController::withETag)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Get saga counts by status
+     * Served from the in-memory status counters
      */
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Long>> getSagaStats() {
         Map<String, Long> stats = Map.of(
-            "CREATED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CREATED),
-            "PENDING_PAYMENT_CONFIRMATION", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION),
-            "PAYMENT_CONFIRMED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED),
-            "PENDING_SHIPPING_PREPARATION", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION),
-            "SHIPPING_PREPARED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.SHIPPING_PREPARED),
-            "COMPLETED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPLETED),
-            "CANCELLED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CANCELLED),
-            "COMPENSATING", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPENSATING),
-            "COMPENSATED", sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPENSATED)
+            "CREATED", statusCounters.get(OrderProcessingSaga.SagaStatus.CREATED),
+            "PENDING_PAYMENT_CONFIRMATION", statusCounters.get(OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION),
+            "PAYMENT_CONFIRMED", statusCounters.get(OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED),
+            "PENDING_SHIPPING_PREPARATION", statusCounters.get(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION),
+            "SHIPPING_PREPARED", statusCounters.get(OrderProcessingSaga.SagaStatus.SHIPPING_PREPARED),
+            "COMPLETED", statusCounters.get(OrderProcessingSaga.SagaStatus.COMPLETED),
+            "CANCELLED", statusCounters.get(OrderProcessingSaga.SagaStatus.CANCELLED),
+            "COMPENSATING", statusCounters.get(OrderProcessingSaga.SagaStatus.COMPENSATING),
+            "COMPENSATED", statusCounters.get(OrderProcessingSaga.SagaStatus.COMPENSATED)
         );
         
         return ResponseEntity.ok(stats);
@@ -81,4 +206,23 @@ public class AdminController {
         
         return ResponseEntity.ok(info);
     }
+
+    private static ResponseEntity<OrderProcessingSaga> withETag(OrderProcessingSaga saga) {
+        return ResponseEntity.ok().eTag(eTag(saga.getId(), saga.getVersion())).body(saga);
+    }
+
+    /**
+     * Strong ETag for a saga version; includes the id so a re-created saga never matches an old tag
+     */
+    private static String eTag(UUID id, Integer version) {
+        return "\"" + id + "-" + (version != null ? version : 0) + "\"";
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
 }
@@ -0,0 +1,58 @@
+package com.xshopai.orderprocessor.controller;
+
+import com.xshopai.orderprocessor.model.dto.BulkJobStatus;
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest;
+import com.xshopai.orderprocessor.service.SagaBulkOperationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+/**
+ * Admin API for bulk saga operations
+ * Operations run asynchronously as jobs; poll the job resource for progress
+ */
+@RestController
+@RequestMapping("/api/v1/admin/sagas/bulk")
+@RequiredArgsConstructor
+public class BulkOperationController {
+
+    private final SagaBulkOperationService bulkOperationService;
+
+    /**
+     * Start a bulk confirm / cancel / compensate job
+     * Returns 503 when too many jobs are already queued
+     */
+    @PostMapping
+    public ResponseEntity<BulkJobStatus> submit(@RequestBody BulkOperationRequest request) {
+        return bulkOperationService.submit(request)
+                .map(job -> ResponseEntity.accepted()
+                        .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                                .path("/{jobId}").buildAndExpand(job.id()).toUri())
+                        .body(job))
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    /**
+     * Get job progress
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkJobStatus> getJob(@PathVariable UUID jobId) {
+        return bulkOperationService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancel a job; chunks that have already committed stay applied
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<BulkJobStatus> cancelJob(@PathVariable UUID jobId) {
+        return bulkOperationService.cancel(jobId)
+                .map(job -> ResponseEntity.accepted().body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
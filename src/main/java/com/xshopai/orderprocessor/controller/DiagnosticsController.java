@@ -0,0 +1,113 @@
+package com.xshopai.orderprocessor.controller;
+
+import com.xshopai.orderprocessor.diagnostics.EventPhaseProfiler;
+import com.xshopai.orderprocessor.exception.InvalidRequestException;
+import com.xshopai.orderprocessor.model.dto.JfrRecordingStatus;
+import com.xshopai.orderprocessor.model.dto.SlowEvent;
+import com.xshopai.orderprocessor.service.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Admin API for production diagnostics
+ * Starts, stops and downloads a bounded JFR recording that includes the saga events, and
+ * lists the slowest recently consumed events with their phase breakdown
+ */
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private static final DateTimeFormatter FILENAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JfrRecordingService jfrRecordingService;
+    private final EventPhaseProfiler phaseProfiler;
+
+    /**
+     * Slowest consumed events of the last diagnostics.slow-events.window, slowest first
+     */
+    @GetMapping("/slow-events")
+    public ResponseEntity<List<SlowEvent>> getSlowEvents(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(phaseProfiler.slowest(Math.max(0, limit)));
+    }
+
+    /**
+     * Start a recording, e.g. ?duration=5m (default and cap: diagnostics.jfr.max-duration)
+     * Returns 409 when one is already running
+     */
+    @PostMapping("/jfr/start")
+    public ResponseEntity<JfrRecordingStatus> startRecording(@RequestParam(required = false) String duration) {
+        Duration requested = duration != null ? parseDuration(duration) : null;
+        return jfrRecordingService.start(requested)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Stop the recording; its data stays available for download
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<JfrRecordingStatus> stopRecording() {
+        return jfrRecordingService.stop()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<JfrRecordingStatus> getRecording() {
+        return jfrRecordingService.getStatus()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Download the recording as a .jfr file, including data so far if it is still running
+     */
+    @GetMapping("/jfr/download")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() throws IOException {
+        Optional<Path> dump = jfrRecordingService.dump();
+        if (dump.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = dump.get();
+        String filename = "order-processor-" + LocalDateTime.now().format(FILENAME_TIMESTAMP) + ".jfr";
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static Duration parseDuration(String duration) {
+        try {
+            return DurationStyle.detectAndParse(duration);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid duration", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.xshopai.orderprocessor.controller;
 
+import com.xshopai.orderprocessor.diagnostics.EventResourceProfiler;
+import com.xshopai.orderprocessor.service.ReadinessMonitor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +22,9 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class OperationalController {
 
+    private final ReadinessMonitor readinessMonitor;
+    private final EventResourceProfiler resourceProfiler;
+
     /**
      * Home endpoint - welcome message
      */
@@ -62,36 +67,20 @@ public class OperationalController {
 
     /**
      * Readiness probe - check if service is ready to serve traffic
+     * Served from the latest background dependency probe (see ReadinessMonitor); 503 when not ready
      */
     @GetMapping("/readiness")
     public ResponseEntity<Map<String, Object>> readiness() {
-        try {
-            // Add more sophisticated checks here (DB connectivity, message broker, etc.)
-            // Example: Check database connectivity, RabbitMQ/Kafka connectivity, etc.
-            // checkDatabaseConnectivity();
-            // checkMessageBrokerConnectivity();
-            
-            Map<String, Object> readiness = new HashMap<>();
-            readiness.put("status", "ready");
-            readiness.put("service", "order-processor-service");
-            readiness.put("timestamp", Instant.now().toString());
-            
-            Map<String, String> checks = new HashMap<>();
-            checks.put("database", "connected");
-            checks.put("messageBroker", "connected");
-            // Add other dependency checks
-            readiness.put("checks", checks);
-            
-            return ResponseEntity.ok(readiness);
-        } catch (Exception e) {
-            Map<String, Object> notReady = new HashMap<>();
-            notReady.put("status", "not ready");
-            notReady.put("service", "order-processor-service");
-            notReady.put("timestamp", Instant.now().toString());
-            notReady.put("error", "Service dependencies not available");
-            
-            return ResponseEntity.status(503).body(notReady);
-        }
+        ReadinessMonitor.State state = readinessMonitor.getState();
+
+        Map<String, Object> readiness = new HashMap<>();
+        readiness.put("status", state.ready() ? "ready" : "not ready");
+        readiness.put("service", "order-processor-service");
+        readiness.put("timestamp", Instant.now().toString());
+        readiness.put("checkedAt", state.checkedAt().toString());
+        readiness.put("checks", state.checks());
+
+        return ResponseEntity.status(state.ready() ? 200 : 503).body(readiness);
     }
 
     /**
@@ -113,6 +102,7 @@ public class OperationalController {
 
     /**
      * Basic metrics endpoint
+     * Includes allocation and CPU per consumed event by topic (see EventResourceProfiler)
      */
     @GetMapping("/metrics")
     public ResponseEntity<Map<String, Object>> metrics() {
@@ -138,6 +128,7 @@ public class OperationalController {
         metricsData.put("availableProcessors", Runtime.getRuntime().availableProcessors());
         metricsData.put("javaVersion", System.getProperty("java.version"));
         metricsData.put("javaVendor", System.getProperty("java.vendor"));
+        metricsData.put("events", resourceProfiler.usage());
         
         metrics.put("metrics", metricsData);
         
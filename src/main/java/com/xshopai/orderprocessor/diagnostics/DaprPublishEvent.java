@@ -0,0 +1,41 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a publish to the Dapr sidecar, from call to acknowledgement
+ */
+@Name("com.xshopai.orderprocessor.DaprPublish")
+@Label("Dapr Publish")
+@Description("Event published through the Dapr pub/sub component")
+@Category({"xshopai", "Order Processor"})
+@StackTrace(false)
+public class DaprPublishEvent extends Event {
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Commit once the sidecar has acknowledged or rejected the publish
+     */
+    public void complete(String topic, Object orderId, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.topic = topic;
+            this.orderId = orderId != null ? orderId.toString() : null;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Counts;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Kind;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.RepeatedQuery;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.EventSummary.Phase;
+import com.xshopai.orderprocessor.logging.LogRateLimiter;
+import com.xshopai.orderprocessor.model.dto.SlowEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event phase profiler
+ *
+ * Publishes each finished event's phase times to the saga.event.phase timer (tagged by topic
+ * and phase) and keeps the slowest events of a rolling window for the admin diagnostics API.
+ * Timers are cached per topic, and events faster than the slowest-N cut-off are rejected with
+ * a single volatile read, so the common case does not allocate or lock.
+ *
+ * JDBC statement counts go to saga.event.statements (by topic and statement kind),
+ * saga.event.batches and saga.event.rows.written. An event that runs the same SELECT at
+ * least diagnostics.statements.repeated-select-threshold times is logged as a likely N+1.
+ */
+@Component
+@Slf4j
+public class EventPhaseProfiler {
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Kind[] KINDS = Kind.values();
+    private static final Comparator<Entry> FASTEST_FIRST = Comparator.comparingLong(Entry::totalNanos);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer[]> phaseTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary[]> statementSummaries = new ConcurrentHashMap<>();
+    private final LogRateLimiter repeatedSelectWarnings = new LogRateLimiter(10, Duration.ofMinutes(1));
+    private final int capacity;
+    private final long windowNanos;
+    private final int repeatedSelectThreshold;
+
+    // Slowest events of the current and the previous window, fastest at the head
+    private PriorityQueue<Entry> current;
+    private PriorityQueue<Entry> previous;
+    private volatile long windowEnd;
+    private volatile long admissionNanos;
+
+    public EventPhaseProfiler(MeterRegistry meterRegistry,
+                              @Value("${diagnostics.slow-events.size:50}") int capacity,
+                              @Value("${diagnostics.slow-events.window:15m}") Duration window,
+                              @Value("${diagnostics.statements.repeated-select-threshold:5}") int repeatedSelectThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.windowNanos = window.toNanos();
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+        this.current = new PriorityQueue<>(capacity + 1, FASTEST_FIRST);
+        this.previous = new PriorityQueue<>(FASTEST_FIRST);
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Record a finished event
+     */
+    public void record(EventSummary summary) {
+        Timer[] timers = phaseTimers.get(summary.topic());
+        if (timers == null) {
+            timers = phaseTimers.computeIfAbsent(summary.topic(), this::registerTimers);
+        }
+        for (Phase phase : PHASES) {
+            long nanos = summary.phaseNanos(phase);
+            if (nanos > 0) {
+                timers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (summary.totalNanos() <= admissionNanos && System.nanoTime() < windowEnd) {
+            return;
+        }
+        admit(summary);
+    }
+
+    /**
+     * Record the JDBC statements a finished event executed
+     */
+    public void recordStatements(String topic, Counts counts) {
+        DistributionSummary[] summaries = statementSummaries.get(topic);
+        if (summaries == null) {
+            summaries = statementSummaries.computeIfAbsent(topic, this::registerStatementSummaries);
+        }
+        for (Kind kind : KINDS) {
+            summaries[kind.ordinal()].record(counts.statements(kind));
+        }
+        summaries[KINDS.length].record(counts.batches());
+        summaries[KINDS.length + 1].record(counts.rowsWritten());
+
+        RepeatedQuery repeated = counts.mostRepeatedSelect();
+        if (repeated != null && repeated.executions() >= repeatedSelectThreshold && repeatedSelectWarnings.tryAcquire()) {
+            long suppressed = repeatedSelectWarnings.drainSuppressed();
+            if (suppressed > 0) {
+                log.warn("Possible N+1 handling {} event: query ran {} times ({} similar warnings suppressed): {}",
+                    topic, repeated.executions(), suppressed, repeated.sql());
+            } else {
+                log.warn("Possible N+1 handling {} event: query ran {} times: {}",
+                    topic, repeated.executions(), repeated.sql());
+            }
+        }
+    }
+
+    /**
+     * Slowest events of the last one to two windows, slowest first
+     */
+    public synchronized List<SlowEvent> slowest(int limit) {
+        rotateIfDue(System.nanoTime());
+        List<Entry> entries = new ArrayList<>(current.size() + previous.size());
+        entries.addAll(current);
+        entries.addAll(previous);
+        entries.sort(FASTEST_FIRST.reversed());
+        return entries.stream().limit(limit).map(Entry::event).toList();
+    }
+
+    private synchronized void admit(EventSummary summary) {
+        rotateIfDue(System.nanoTime());
+        if (current.size() >= capacity && summary.totalNanos() <= admissionNanos) {
+            return;
+        }
+        current.add(new Entry(summary.totalNanos(), toSlowEvent(summary)));
+        if (current.size() > capacity) {
+            current.poll();
+        }
+        if (current.size() >= capacity) {
+            admissionNanos = current.peek().totalNanos();
+        }
+    }
+
+    private void rotateIfDue(long now) {
+        if (now < windowEnd) {
+            return;
+        }
+        previous = current;
+        current = new PriorityQueue<>(capacity + 1, FASTEST_FIRST);
+        admissionNanos = 0;
+        windowEnd = now + windowNanos;
+    }
+
+    private Timer[] registerTimers(String topic) {
+        Timer[] timers = new Timer[PHASES.length];
+        for (Phase phase : PHASES) {
+            timers[phase.ordinal()] = Timer.builder("saga.event.phase")
+                .description("Time spent in each phase of handling a consumed event")
+                .tag("topic", topic)
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        return timers;
+    }
+
+    private DistributionSummary[] registerStatementSummaries(String topic) {
+        DistributionSummary[] summaries = new DistributionSummary[KINDS.length + 2];
+        for (Kind kind : KINDS) {
+            summaries[kind.ordinal()] = DistributionSummary.builder("saga.event.statements")
+                .description("JDBC statements executed while handling a consumed event")
+                .baseUnit("statements")
+                .tag("topic", topic)
+                .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        summaries[KINDS.length] = DistributionSummary.builder("saga.event.batches")
+            .description("JDBC batch executions while handling a consumed event")
+            .baseUnit("batches")
+            .tag("topic", topic)
+            .register(meterRegistry);
+        summaries[KINDS.length + 1] = DistributionSummary.builder("saga.event.rows.written")
+            .description("Rows inserted, updated or deleted while handling a consumed event")
+            .baseUnit("rows")
+            .tag("topic", topic)
+            .register(meterRegistry);
+        return summaries;
+    }
+
+    private static SlowEvent toSlowEvent(EventSummary summary) {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            long nanos = summary.phaseNanos(phase);
+            if (nanos > 0) {
+                phases.put(phase.field(), EventSummary.toMillis(nanos));
+            }
+        }
+        return new SlowEvent(
+            summary.topic(),
+            summary.eventId(),
+            asString(summary.get("orderId")),
+            asString(summary.get("sagaId")),
+            asString(summary.get("transition")),
+            asString(summary.get("outcome")),
+            Instant.now(),
+            EventSummary.toMillis(summary.totalNanos()),
+            summary.get("statements") instanceof Long statements ? statements : null,
+            phases);
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private record Entry(long totalNanos, SlowEvent event) {
+    }
+}
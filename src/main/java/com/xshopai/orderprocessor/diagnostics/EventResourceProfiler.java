@@ -0,0 +1,239 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import com.xshopai.orderprocessor.model.dto.EventResourceUsage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event allocation and CPU profiler
+ *
+ * Reads the handling thread's allocated bytes and CPU time (com.sun.management.ThreadMXBean)
+ * around each consumed event and publishes them per topic as the saga.event.allocated summary
+ * and the saga.event.cpu timer. Both counters are per-thread, so the numbers only cover work
+ * done on the consumer thread, not Dapr or Reactor threads the handler hands off to.
+ *
+ * Allocation per event is compared with diagnostics.allocation.baseline, the per-topic values
+ * recorded for the previous release. The comparison uses an exponentially weighted mean that
+ * spans roughly the last diagnostics.allocation.min-events events, so it follows the current
+ * behaviour rather than everything since startup. Once min-events events were seen, a topic
+ * whose recent mean exceeds its baseline by more than diagnostics.allocation.tolerance is
+ * logged and reported through the saga.event.allocation.regressed gauge until it falls back
+ * within the tolerance.
+ */
+@Component
+@Slf4j
+public class EventResourceProfiler {
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+    private final boolean cpuSupported;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DataSize> baselines;
+    private final double tolerance;
+    private final long minEvents;
+    private final double smoothing;
+    private final Map<String, TopicUsage> topics = new ConcurrentHashMap<>();
+
+    public EventResourceProfiler(MeterRegistry meterRegistry,
+                                 Environment environment,
+                                 @Value("${diagnostics.allocation.tolerance:0.25}") double tolerance,
+                                 @Value("${diagnostics.allocation.min-events:200}") long minEvents) {
+        this.meterRegistry = meterRegistry;
+        this.tolerance = tolerance;
+        this.minEvents = minEvents;
+        // Weight of the newest event, giving an average age of about minEvents / 2 events
+        this.smoothing = 2.0 / (Math.max(1, minEvents) + 1);
+        // Topic names contain dots, so keys are written as "[payment.processed]"
+        this.baselines = Binder.get(environment)
+            .bind("diagnostics.allocation.baseline", Bindable.mapOf(String.class, DataSize.class))
+            .orElse(Map.of());
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.allocationSupported = threadBean.isThreadAllocatedMemorySupported()
+            && threadBean.isThreadAllocatedMemoryEnabled();
+        this.cpuSupported = threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+        if (!allocationSupported || !cpuSupported) {
+            log.info("Per-event resource accounting limited by the JVM: allocation={}, cpu={}",
+                allocationSupported, cpuSupported);
+        }
+    }
+
+    /**
+     * Start measuring the current thread
+     */
+    public Sample start() {
+        return new Sample(this, allocatedBytes(), cpuNanos());
+    }
+
+    /**
+     * Stop a sample and record it against its topic
+     */
+    public void record(String topic, Sample sample) {
+        sample.stop();
+        TopicUsage usage = topics.get(topic);
+        if (usage == null) {
+            usage = topics.computeIfAbsent(topic, this::register);
+        }
+        if (sample.allocatedBytes >= 0) {
+            usage.allocated.record(sample.allocatedBytes);
+            checkRegression(topic, usage, sample.allocatedBytes);
+        }
+        if (sample.cpuNanos >= 0) {
+            usage.cpu.record(sample.cpuNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Usage per topic since startup, highest allocation per event first
+     */
+    public List<EventResourceUsage> usage() {
+        return topics.entrySet().stream()
+            .map(entry -> toUsage(entry.getKey(), entry.getValue()))
+            .sorted(Comparator.comparingLong(EventResourceUsage::allocatedBytesPerEvent).reversed())
+            .toList();
+    }
+
+    private long allocatedBytes() {
+        return allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private long cpuNanos() {
+        return cpuSupported ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private void checkRegression(String topic, TopicUsage usage, long allocatedBytes) {
+        if (usage.baselineBytes < 0) {
+            return;
+        }
+        synchronized (usage) {
+            usage.recentBytes = usage.recentEvents == 0
+                ? allocatedBytes
+                : usage.recentBytes + smoothing * (allocatedBytes - usage.recentBytes);
+            if (++usage.recentEvents < minEvents) {
+                return;
+            }
+            boolean regressed = usage.recentBytes > usage.baselineBytes * (1 + tolerance);
+            if (regressed && !usage.regressed) {
+                log.warn("Allocation per {} event regressed: {} bytes now, {} bytes in the baseline",
+                    topic, Math.round(usage.recentBytes), usage.baselineBytes);
+            } else if (!regressed && usage.regressed) {
+                log.info("Allocation per {} event back within baseline: {} bytes now, {} bytes in the baseline",
+                    topic, Math.round(usage.recentBytes), usage.baselineBytes);
+            }
+            usage.regressed = regressed;
+        }
+    }
+
+    private TopicUsage register(String topic) {
+        DistributionSummary allocated = DistributionSummary.builder("saga.event.allocated")
+            .description("Heap bytes allocated by the consumer thread while handling an event")
+            .baseUnit("bytes")
+            .tag("topic", topic)
+            .register(meterRegistry);
+        Timer cpu = Timer.builder("saga.event.cpu")
+            .description("CPU time of the consumer thread while handling an event")
+            .tag("topic", topic)
+            .register(meterRegistry);
+        DataSize baseline = baselines.get(topic);
+        TopicUsage usage = new TopicUsage(allocated, cpu, baseline != null ? baseline.toBytes() : -1);
+        if (baseline != null) {
+            Gauge.builder("saga.event.allocation.regressed", usage, u -> u.regressed ? 1 : 0)
+                .description("1 when allocation per event exceeds the previous release's baseline")
+                .tag("topic", topic)
+                .register(meterRegistry);
+        }
+        return usage;
+    }
+
+    private static EventResourceUsage toUsage(String topic, TopicUsage usage) {
+        return new EventResourceUsage(
+            topic,
+            usage.allocated.count(),
+            Math.round(usage.allocated.mean()),
+            Math.round(usage.cpu.mean(TimeUnit.MILLISECONDS) * 100) / 100.0,
+            usage.baselineBytes >= 0 ? usage.baselineBytes : null,
+            usage.regressed);
+    }
+
+    /**
+     * Allocation and CPU readings of one event on its handling thread
+     */
+    public static final class Sample {
+
+        private final EventResourceProfiler profiler;
+        private final long allocatedStart;
+        private final long cpuStart;
+        private long allocatedBytes = -1;
+        private long cpuNanos = -1;
+        private boolean stopped;
+
+        private Sample(EventResourceProfiler profiler, long allocatedStart, long cpuStart) {
+            this.profiler = profiler;
+            this.allocatedStart = allocatedStart;
+            this.cpuStart = cpuStart;
+        }
+
+        /**
+         * Bytes allocated since start, or -1 if the JVM can't tell
+         */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * CPU time since start, or -1 if the JVM can't tell
+         */
+        public long cpuNanos() {
+            return cpuNanos;
+        }
+
+        /**
+         * Take the end readings; later calls keep the first ones
+         */
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            long allocated = profiler.allocatedBytes();
+            if (allocatedStart >= 0 && allocated >= 0) {
+                allocatedBytes = allocated - allocatedStart;
+            }
+            long cpu = profiler.cpuNanos();
+            if (cpuStart >= 0 && cpu >= 0) {
+                cpuNanos = cpu - cpuStart;
+            }
+        }
+    }
+
+    private static final class TopicUsage {
+        final DistributionSummary allocated;
+        final Timer cpu;
+        final long baselineBytes;
+        volatile boolean regressed;
+        // Guarded by this
+        double recentBytes;
+        long recentEvents;
+
+        TopicUsage(DistributionSummary allocated, Timer cpu, long baselineBytes) {
+            this.allocated = allocated;
+            this.cpu = cpu;
+            this.baselineBytes = baselineBytes;
+        }
+    }
+}
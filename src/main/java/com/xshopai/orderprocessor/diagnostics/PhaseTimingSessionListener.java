@@ -0,0 +1,48 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.EventSummary.Phase;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener adding JDBC and flush time to the current event summary
+ *
+ * Registered through hibernate.session.events.auto, so Hibernate creates one per session;
+ * sessions are confined to a thread, so plain fields hold the start times.
+ */
+public class PhaseTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+    private long flushStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        EventSummary.recordPhase(Phase.DB, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        EventSummary.recordPhase(Phase.DB, System.nanoTime() - batchStart);
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        EventSummary.recordPhase(Phase.FLUSH, System.nanoTime() - flushStart);
+    }
+}
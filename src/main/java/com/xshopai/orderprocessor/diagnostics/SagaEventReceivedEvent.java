@@ -0,0 +1,49 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a consumed pub/sub event, spanning its whole saga handling
+ */
+@Name("com.xshopai.orderprocessor.SagaEventReceived")
+@Label("Saga Event Received")
+@Description("A pub/sub delivery handled by the saga orchestrator")
+@Category({"xshopai", "Order Processor"})
+@StackTrace(false)
+public class SagaEventReceivedEvent extends Event {
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Event ID")
+    String eventId;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Transition")
+    String transition;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Commit once handling is done; the string fields are only built when a recording is on
+     */
+    public void complete(String topic, String eventId, Object orderId, Object transition, Object outcome) {
+        end();
+        if (shouldCommit()) {
+            this.topic = topic;
+            this.eventId = eventId;
+            this.orderId = orderId != null ? orderId.toString() : null;
+            this.transition = transition != null ? transition.toString() : null;
+            this.outcome = outcome != null ? outcome.toString() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a saga repository query made while handling an event
+ */
+@Name("com.xshopai.orderprocessor.SagaRepositoryCall")
+@Label("Saga Repository Call")
+@Description("Database round trip made by the saga orchestrator")
+@Category({"xshopai", "Order Processor"})
+@StackTrace(false)
+public class SagaRepositoryCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Order ID")
+    String orderId;
+
+    /**
+     * Commit once the query has returned
+     */
+    public void complete(String operation, Object orderId) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.orderId = orderId != null ? orderId.toString() : null;
+            commit();
+        }
+    }
+}
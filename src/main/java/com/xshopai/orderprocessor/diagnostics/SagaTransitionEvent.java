@@ -0,0 +1,45 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a saga status transition, spanning the statement that writes it
+ */
+@Name("com.xshopai.orderprocessor.SagaTransition")
+@Label("Saga Transition")
+@Description("Write of a saga status change")
+@Category({"xshopai", "Order Processor"})
+@StackTrace(false)
+public class SagaTransitionEvent extends Event {
+
+    @Label("Saga ID")
+    String sagaId;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    String toStatus;
+
+    /**
+     * Commit once the write has finished, filling in the fields only if a recording is on
+     */
+    public void complete(Object sagaId, Object orderId, Object fromStatus, Object toStatus) {
+        end();
+        if (shouldCommit()) {
+            this.sagaId = String.valueOf(sagaId);
+            this.orderId = String.valueOf(orderId);
+            this.fromStatus = String.valueOf(fromStatus);
+            this.toStatus = String.valueOf(toStatus);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-event JDBC statement counter
+ *
+ * Counts the statements, JDBC batches and written rows issued on the current thread between
+ * begin and end. Fed by a datasource-proxy listener around the application DataSource, so it
+ * sees Hibernate and JdbcTemplate statements alike. Scopes nest: an inner scope's counts
+ * are added to the scope it interrupted when it ends. Outside a scope statements are not
+ * counted.
+ */
+public final class StatementCounter {
+
+    /**
+     * Statement type, taken from the leading SQL keyword
+     */
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Start counting statements on the current thread
+     */
+    public static Counts begin() {
+        Counts counts = new Counts(CURRENT.get());
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Stop counting into the given scope and fold it into the enclosing one
+     */
+    public static void end(Counts counts) {
+        CURRENT.set(counts.parent);
+        if (counts.parent != null) {
+            counts.parent.add(counts);
+        }
+    }
+
+    /**
+     * Wrap a DataSource so the statements it executes are counted
+     */
+    public static DataSource countingDataSource(DataSource target, String name) {
+        return ProxyDataSourceBuilder.create(target)
+            .name(name)
+            .listener(new CountingListener())
+            .build();
+    }
+
+    static Kind kindOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        for (Kind kind : KINDS) {
+            if (kind != Kind.OTHER && sql.regionMatches(true, start, kind.name(), 0, kind.name().length())) {
+                return kind;
+            }
+        }
+        // CTEs are reads unless they wrap a write, which Hibernate doesn't generate
+        return sql.regionMatches(true, start, "WITH", 0, 4) ? Kind.SELECT : Kind.OTHER;
+    }
+
+    /**
+     * Statements counted in one scope
+     */
+    public static final class Counts {
+
+        private final Counts parent;
+        private final long[] statements = new long[KINDS.length];
+        private long batches;
+        private long rowsWritten;
+        // Executions per distinct SELECT, the signal for N+1 loading
+        private Map<String, Integer> selects;
+
+        Counts(Counts parent) {
+            this.parent = parent;
+        }
+
+        public long statements() {
+            long total = 0;
+            for (long count : statements) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long statements(Kind kind) {
+            return statements[kind.ordinal()];
+        }
+
+        /**
+         * JDBC batch executions; each one counts its batched statements in statements()
+         */
+        public long batches() {
+            return batches;
+        }
+
+        /**
+         * Update counts reported by the driver for inserts, updates and deletes
+         */
+        public long rowsWritten() {
+            return rowsWritten;
+        }
+
+        /**
+         * The SELECT executed most often in this scope, or null if none ran
+         */
+        public RepeatedQuery mostRepeatedSelect() {
+            if (selects == null) {
+                return null;
+            }
+            RepeatedQuery most = null;
+            for (Map.Entry<String, Integer> entry : selects.entrySet()) {
+                if (most == null || entry.getValue() > most.executions()) {
+                    most = new RepeatedQuery(entry.getKey(), entry.getValue());
+                }
+            }
+            return most;
+        }
+
+        void record(String sql, int count, boolean batch, long rows) {
+            Kind kind = kindOf(sql);
+            statements[kind.ordinal()] += count;
+            if (batch) {
+                batches++;
+            }
+            rowsWritten += rows;
+            if (kind == Kind.SELECT) {
+                if (selects == null) {
+                    selects = new HashMap<>();
+                }
+                selects.merge(sql, count, Integer::sum);
+            }
+        }
+
+        private void add(Counts other) {
+            for (int i = 0; i < statements.length; i++) {
+                statements[i] += other.statements[i];
+            }
+            batches += other.batches;
+            rowsWritten += other.rowsWritten;
+            if (other.selects != null) {
+                if (selects == null) {
+                    selects = new HashMap<>();
+                }
+                other.selects.forEach((sql, count) -> selects.merge(sql, count, Integer::sum));
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder().append(statements()).append(" statements (");
+            for (Kind kind : KINDS) {
+                if (kind != KINDS[0]) {
+                    out.append(", ");
+                }
+                out.append(kind.name().toLowerCase(Locale.ROOT)).append('=').append(statements[kind.ordinal()]);
+            }
+            return out.append("), ").append(batches).append(" batches, ")
+                .append(rowsWritten).append(" rows written").toString();
+        }
+    }
+
+    /**
+     * A SELECT and how many times it ran
+     */
+    public record RepeatedQuery(String sql, int executions) {
+    }
+
+    private static final class CountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Counts counts = CURRENT.get();
+            if (counts == null || queryInfoList.isEmpty()) {
+                return;
+            }
+            long rows = rowsWritten(execInfo.getResult());
+            if (!execInfo.isBatch()) {
+                counts.record(queryInfoList.get(0).getQuery(), 1, false, rows);
+            } else if (queryInfoList.size() == 1) {
+                // Prepared batch: one SQL string, one parameter set per statement
+                counts.record(queryInfoList.get(0).getQuery(), execInfo.getBatchSize(), true, rows);
+            } else {
+                // Statement batch: one SQL string per statement
+                for (int i = 0; i < queryInfoList.size(); i++) {
+                    counts.record(queryInfoList.get(i).getQuery(), 1, i == 0, i == 0 ? rows : 0);
+                }
+            }
+        }
+
+        private static long rowsWritten(Object result) {
+            if (result instanceof Integer updated && updated > 0) {
+                return updated;
+            }
+            if (result instanceof Long updated && updated > 0) {
+                return updated;
+            }
+            long rows = 0;
+            if (result instanceof int[] updated) {
+                for (int count : updated) {
+                    // SUCCESS_NO_INFO and EXECUTE_FAILED are negative
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] updated) {
+                for (long count : updated) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.xshopai.orderprocessor.events.consumer;
+
+import com.xshopai.orderprocessor.logging.EventSummary;
+import io.dapr.client.domain.CloudEvent;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * CloudEvent Binding Timer
+ * Measures Jackson binding of CloudEvent request bodies and hands the time to the event
+ * summary the consumer is about to begin.
+ */
+@ControllerAdvice
+public class CloudEventBindingTimer extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<long[]> READ_START = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return CloudEvent.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        READ_START.get()[0] = System.nanoTime();
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        EventSummary.recordDeserialization(System.nanoTime() - READ_START.get()[0]);
+        return body;
+    }
+}
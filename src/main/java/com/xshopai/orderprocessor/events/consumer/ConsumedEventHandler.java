@@ -0,0 +1,84 @@
+package com.xshopai.orderprocessor.events.consumer;
+
+import com.xshopai.orderprocessor.diagnostics.EventPhaseProfiler;
+import com.xshopai.orderprocessor.diagnostics.EventResourceProfiler;
+import com.xshopai.orderprocessor.diagnostics.SagaEventReceivedEvent;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import io.dapr.client.domain.CloudEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Consumed Event Handler
+ * Runs a pub/sub delivery through its saga handler inside a saga.event span, mapping
+ * failures to 500 so Dapr redelivers, and writes one summary log line and one JFR event per
+ * event. Phase times and JDBC statement counts go to EventPhaseProfiler, allocated bytes and
+ * CPU time of the handling thread to EventResourceProfiler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConsumedEventHandler {
+
+    private final ObservationRegistry observationRegistry;
+    private final EventPhaseProfiler phaseProfiler;
+    private final EventResourceProfiler resourceProfiler;
+
+    public <T> ResponseEntity<Void> handle(String topic, CloudEvent<T> cloudEvent, Consumer<T> handler) {
+        SagaEventReceivedEvent received = new SagaEventReceivedEvent();
+        received.begin();
+        EventSummary summary = EventSummary.begin(topic, cloudEvent.getId());
+        StatementCounter.Counts statements = StatementCounter.begin();
+        EventResourceProfiler.Sample resources = resourceProfiler.start();
+        Observation observation = Observation.createNotStarted("saga.event", observationRegistry)
+            .contextualName("consume " + topic)
+            .lowCardinalityKeyValue("topic", topic)
+            .highCardinalityKeyValue("event.id", String.valueOf(cloudEvent.getId()))
+            .start();
+        String outcome = "error";
+        try (Observation.Scope ignored = observation.openScope()) {
+            handler.accept(cloudEvent.getData());
+            outcome = "ok";
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            observation.error(e);
+            log.error("Error handling {} event {}", topic, cloudEvent.getId(), e);
+            return ResponseEntity.status(500).build();
+        } finally {
+            finish(summary, statements, resources, outcome);
+            observation.stop();
+            received.complete(topic, cloudEvent.getId(), summary.get("orderId"), summary.get("transition"),
+                summary.get("outcome"));
+            phaseProfiler.record(summary);
+            phaseProfiler.recordStatements(topic, statements);
+            resourceProfiler.record(topic, resources);
+        }
+    }
+
+    private static void finish(EventSummary summary, StatementCounter.Counts statements,
+                               EventResourceProfiler.Sample resources, String outcome) {
+        StatementCounter.end(statements);
+        resources.stop();
+        EventSummary.put("statements", statements.statements());
+        if (statements.batches() > 0) {
+            EventSummary.put("batches", statements.batches());
+        }
+        if (statements.rowsWritten() > 0) {
+            EventSummary.put("rowsWritten", statements.rowsWritten());
+        }
+        if (resources.allocatedBytes() >= 0) {
+            EventSummary.put("allocatedBytes", resources.allocatedBytes());
+        }
+        if (resources.cpuNanos() >= 0) {
+            EventSummary.put("cpuMs", EventSummary.toMillis(resources.cpuNanos()));
+        }
+        summary.finish(log, outcome);
+    }
+}
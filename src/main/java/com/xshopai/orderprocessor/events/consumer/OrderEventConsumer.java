@@ -2,7 +2,6 @@ package com.xshopai.orderprocessor.events.consumer;
 
 import io.dapr.client.domain.CloudEvent;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,24 +15,16 @@ import com.xshopai.orderprocessor.service.SagaOrchestratorService;
 @RestController
 @RequestMapping("/dapr/events")
 @RequiredArgsConstructor
-@Slf4j
 public class OrderEventConsumer {
 
     private final SagaOrchestratorService sagaOrchestratorService;
+    private final ConsumedEventHandler eventHandler;
 
     /**
      * Handle order.created event
      */
     @PostMapping("/order-created")
     public ResponseEntity<Void> handleOrderCreated(@RequestBody CloudEvent<OrderCreatedEvent> cloudEvent) {
-        try {
-            log.info("Received order.created event: {}", cloudEvent.getId());
-            OrderCreatedEvent event = cloudEvent.getData();
-            sagaOrchestratorService.startOrderProcessingSaga(event);
-            return ResponseEntity.ok().build();
-        } catch (Exception e) {
-            log.error("Error handling order.created event", e);
-            return ResponseEntity.status(500).build();
-        }
+        return eventHandler.handle("order.created", cloudEvent, sagaOrchestratorService::startOrderProcessingSaga);
     }
 }
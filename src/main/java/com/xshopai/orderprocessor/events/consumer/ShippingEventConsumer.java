@@ -2,7 +2,6 @@ package com.xshopai.orderprocessor.events.consumer;
 
 import io.dapr.client.domain.CloudEvent;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,25 +16,17 @@ import com.xshopai.orderprocessor.service.SagaOrchestratorService;
 @RestController
 @RequestMapping("/dapr/events")
 @RequiredArgsConstructor
-@Slf4j
 public class ShippingEventConsumer {
 
     private final SagaOrchestratorService sagaOrchestratorService;
+    private final ConsumedEventHandler eventHandler;
 
     /**
      * Handle shipping.prepared event
      */
     @PostMapping("/shipping-prepared")
     public ResponseEntity<Void> handleShippingPrepared(@RequestBody CloudEvent<ShippingPreparedEvent> cloudEvent) {
-        try {
-            log.info("Received shipping.prepared event: {}", cloudEvent.getId());
-            ShippingPreparedEvent event = cloudEvent.getData();
-            sagaOrchestratorService.handleShippingPrepared(event);
-            return ResponseEntity.ok().build();
-        } catch (Exception e) {
-            log.error("Error handling shipping.prepared event", e);
-            return ResponseEntity.status(500).build();
-        }
+        return eventHandler.handle("shipping.prepared", cloudEvent, sagaOrchestratorService::handleShippingPrepared);
     }
 
     /**
@@ -43,14 +34,6 @@ public class ShippingEventConsumer {
      */
     @PostMapping("/shipping-failed")
     public ResponseEntity<Void> handleShippingFailed(@RequestBody CloudEvent<ShippingFailedEvent> cloudEvent) {
-        try {
-            log.info("Received shipping.failed event: {}", cloudEvent.getId());
-            ShippingFailedEvent event = cloudEvent.getData();
-            sagaOrchestratorService.handleShippingFailed(event);
-            return ResponseEntity.ok().build();
-        } catch (Exception e) {
-            log.error("Error handling shipping.failed event", e);
-            return ResponseEntity.status(500).build();
-        }
+        return eventHandler.handle("shipping.failed", cloudEvent, sagaOrchestratorService::handleShippingFailed);
     }
 }
@@ -1,29 +1,53 @@
 package com.xshopai.orderprocessor.events.publisher;
 
+import com.xshopai.orderprocessor.diagnostics.DaprPublishEvent;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.EventSummary.Phase;
+import com.xshopai.orderprocessor.logging.TraceContext;
 import io.dapr.client.DaprClient;
 import io.dapr.client.domain.CloudEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
 
 import jakarta.annotation.PostConstruct;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Dapr Event Publisher Service
- * Handles publishing events to Dapr pub/sub component
+ * Handles publishing events to Dapr pub/sub component. Every publish runs in a dapr.publish
+ * span whose traceparent is passed to the sidecar and set on the CloudEvent, so subscribers
+ * continue the saga's trace.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DaprEventPublisher {
 
+    // Read from the Reactor context by the Dapr client and sent to the sidecar
+    private static final String TRACEPARENT_CONTEXT_KEY = "traceparent";
+    // Overrides the traceparent Dapr writes into the published CloudEvent
+    private static final String CLOUDEVENT_TRACEPARENT_METADATA = "cloudevent.traceparent";
+
     @Value("${dapr.pubsub-name:pubsub}")
     private String pubsubName;
 
+    @Value("${dapr.publish-concurrency:32}")
+    private int publishConcurrency;
+
     private final DaprClient daprClient;
+    private final ObservationRegistry observationRegistry;
 
     @PostConstruct
     public void init() {
@@ -44,19 +68,109 @@ public class DaprEventPublisher {
         try {
             log.debug("Publishing event to topic: {}", topic);
             
-            if (metadata == null) {
-                metadata = new HashMap<>();
-            }
+            long start = System.nanoTime();
+            tracedPublish(topic, orderIdOf(event), event, metadata).block();
+            EventSummary.recordPhase(Phase.PUBLISH, System.nanoTime() - start);
             
-            daprClient.publishEvent(pubsubName, topic, event, metadata).block();
-            
-            log.info("Event published successfully to topic: {}", topic);
+            log.debug("Event published successfully to topic: {}", topic);
         } catch (Exception e) {
             log.error("Failed to publish event to topic: {}", topic, e);
             throw new RuntimeException("Failed to publish event", e);
         }
     }
 
+    /**
+     * An event to publish later, e.g. once a bulk operation chunk has committed
+     */
+    public record OutboundEvent(String topic, Object data) {
+
+        public Object orderId() {
+            return orderIdOf(data);
+        }
+    }
+
+    /**
+     * Publish a batch of events with bounded concurrency, waiting once for the whole batch
+     * instead of one sidecar round trip per event
+     *
+     * @return number of events that failed to publish
+     */
+    public int publishEvents(List<OutboundEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        // Callbacks and later publishes run on Dapr client threads; carry the caller's trace
+        // context and span into them so every publish span joins the caller's trace
+        TraceContext context = TraceContext.current();
+        io.opentelemetry.context.Context spanContext = io.opentelemetry.context.Context.current();
+        Long failed = Flux.fromIterable(events)
+            .flatMap(event -> publishInContext(spanContext, event)
+                .thenReturn(Boolean.TRUE)
+                .onErrorResume(e -> {
+                    try (TraceContext.Scope ignored = TraceContext.restore(context)) {
+                        log.error("Failed to publish event to topic: {}", event.topic(), e);
+                    }
+                    return Mono.just(Boolean.FALSE);
+                }), publishConcurrency)
+            .filter(published -> !published)
+            .count()
+            .block();
+        log.info("Published batch of {} events ({} failed)", events.size(), failed);
+        return failed == null ? 0 : failed.intValue();
+    }
+
+    private Mono<Void> publishInContext(io.opentelemetry.context.Context spanContext, OutboundEvent event) {
+        try (io.opentelemetry.context.Scope ignored = spanContext.makeCurrent()) {
+            return tracedPublish(event.topic(), event.orderId(), event.data(), null);
+        }
+    }
+
+    /**
+     * Publish inside a dapr.publish span, carrying its trace context in the call and the event,
+     * and record it as a DaprPublish JFR event tied to the order it is about
+     */
+    private Mono<Void> tracedPublish(String topic, Object orderId, Object event, Map<String, String> metadata) {
+        DaprPublishEvent publishEvent = new DaprPublishEvent();
+        publishEvent.begin();
+        Observation observation = Observation.createNotStarted("dapr.publish", observationRegistry)
+            .contextualName("publish " + topic)
+            .lowCardinalityKeyValue("topic", topic)
+            .start();
+        String traceparent;
+        try (Observation.Scope ignored = observation.openScope()) {
+            traceparent = TraceContext.currentTraceparent();
+        }
+
+        Map<String, String> tracedMetadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+        Context context = Context.empty();
+        if (traceparent != null) {
+            tracedMetadata.put(CLOUDEVENT_TRACEPARENT_METADATA, traceparent);
+            context = Context.of(TRACEPARENT_CONTEXT_KEY, traceparent);
+        }
+        return daprClient.publishEvent(pubsubName, topic, event, tracedMetadata)
+            .contextWrite(context)
+            .doOnError(observation::error)
+            .doFinally(signal -> {
+                observation.stop();
+                publishEvent.complete(topic, orderId, signal == SignalType.ON_COMPLETE);
+            });
+    }
+
+    /**
+     * Order ID carried by an event payload, from the "orderId" entry of the map payloads or the
+     * orderId property of the event classes, or null if there is none
+     */
+    static Object orderIdOf(Object event) {
+        if (event instanceof Map<?, ?> map) {
+            return map.get("orderId");
+        }
+        if (event == null) {
+            return null;
+        }
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(event);
+        return wrapper.isReadableProperty("orderId") ? wrapper.getPropertyValue("orderId") : null;
+    }
+
     /**
      * Publish event with correlation ID
      */
@@ -196,14 +310,7 @@ public class DaprEventPublisher {
 
     // Overloaded for orderId, orderNumber, customerId, errorMessage, correlationId
     public void publishOrderFailedStatus(Object orderId, String orderNumber, String customerId, String errorMessage, String correlationId) {
-        publishOrderFailed(Map.of(
-            "orderId", orderId,
-            "orderNumber", orderNumber,
-            "customerId", customerId,
-            "errorMessage", errorMessage,
-            "correlationId", correlationId,
-            "status", "FAILED"
-        ));
+        publishOrderFailed(orderFailedStatus(orderId, orderNumber, customerId, errorMessage, correlationId).data());
     }
 
     public void publishShippingPreparation(Object orderId, Object customerId) {
@@ -214,23 +321,48 @@ public class DaprEventPublisher {
     }
 
     public void publishPaymentRefund(Object orderId, String paymentId) {
-        publishPaymentRefund(Map.of(
+        publishPaymentRefund(paymentRefund(orderId, paymentId).data());
+    }
+
+    public void publishInventoryRelease(Object orderId, String reservationId) {
+        publishInventoryRelease(inventoryRelease(orderId, reservationId).data());
+    }
+
+    public void publishShippingCancellation(Object orderId, String shippingId) {
+        publishShippingCancellation(shippingCancellation(orderId, shippingId).data());
+    }
+
+    // Compensation events for batched publishing
+    public static OutboundEvent paymentRefund(Object orderId, String paymentId) {
+        return new OutboundEvent("payment.refund", Map.of(
             "orderId", orderId,
             "paymentId", paymentId
         ));
     }
 
-    public void publishInventoryRelease(Object orderId, String reservationId) {
-        publishInventoryRelease(Map.of(
+    public static OutboundEvent inventoryRelease(Object orderId, String reservationId) {
+        return new OutboundEvent("inventory.release", Map.of(
             "orderId", orderId,
             "reservationId", reservationId
         ));
     }
 
-    public void publishShippingCancellation(Object orderId, String shippingId) {
-        publishShippingCancellation(Map.of(
+    public static OutboundEvent shippingCancellation(Object orderId, String shippingId) {
+        return new OutboundEvent("shipping.cancellation", Map.of(
             "orderId", orderId,
             "shippingId", shippingId
         ));
     }
+
+    public static OutboundEvent orderFailedStatus(Object orderId, String orderNumber, String customerId,
+                                                  String errorMessage, String correlationId) {
+        return new OutboundEvent("order.failed", Map.of(
+            "orderId", orderId,
+            "orderNumber", orderNumber,
+            "customerId", customerId,
+            "errorMessage", errorMessage,
+            "correlationId", correlationId,
+            "status", "FAILED"
+        ));
+    }
 }
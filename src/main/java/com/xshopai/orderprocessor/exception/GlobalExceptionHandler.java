@@ -77,6 +77,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
+        
+        String correlationId = request.getHeader("x-correlation-id");
+        log.warn("Bad request: {} | CorrelationId: {}", ex.getMessage(), correlationId);
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "The request parameters are invalid");
+        body.put("path", request.getDescription(false));
+        if (correlationId != null) {
+            body.put("correlationId", correlationId);
+        }
+        
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(
             Exception ex, WebRequest request) {
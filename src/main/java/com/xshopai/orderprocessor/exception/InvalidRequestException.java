@@ -0,0 +1,17 @@
+package com.xshopai.orderprocessor.exception;
+
+/**
+ * Exception thrown when client input to an admin endpoint is invalid (malformed cursor,
+ * bulk request without targets, non-positive duration)
+ * Mapped to 400 by GlobalExceptionHandler; other IllegalArgumentExceptions stay server errors
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
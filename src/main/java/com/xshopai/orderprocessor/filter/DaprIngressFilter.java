@@ -0,0 +1,89 @@
+package com.xshopai.orderprocessor.filter;
+
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.TraceContext;
+import com.xshopai.orderprocessor.util.TraceParent;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Dapr Ingress Filter
+ * Minimal filter for sidecar traffic (/dapr/**), which bypasses Spring Security and the
+ * generic trace and workload filters. The sidecar is trusted via the dapr-api-token header
+ * (APP_API_TOKEN), trace context comes from the CloudEvent's traceparent as forwarded by
+ * Dapr, and requests are served by the ingestion connection pool.
+ */
+@Component
+@Order(0)
+@Slf4j
+public class DaprIngressFilter implements Filter {
+
+    public static final String DAPR_PATH_PREFIX = "/dapr/";
+
+    private static final String API_TOKEN_HEADER = "dapr-api-token";
+    private static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final byte[] apiToken;
+
+    public DaprIngressFilter(@Value("${dapr.app-api-token:}") String apiToken) {
+        this.apiToken = apiToken == null || apiToken.isBlank() ? null : apiToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        if (apiToken == null) {
+            log.warn("APP_API_TOKEN is not set; requests to {}** are accepted without a Dapr API token", DAPR_PATH_PREFIX);
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!httpRequest.getRequestURI().startsWith(DAPR_PATH_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (apiToken != null && !isTrustedSidecar(httpRequest)) {
+            log.warn("Rejected {} without a valid Dapr API token", httpRequest.getRequestURI());
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        // The HTTP observation filter has already continued the sidecar's trace when tracing is on
+        TraceContext traceContext = TraceContext.ofActiveSpan();
+        if (traceContext == null) {
+            TraceParent traceParent = TraceParent.parse(httpRequest.getHeader(TRACEPARENT_HEADER));
+            traceContext = traceParent != null ? TraceContext.of(traceParent) : null;
+        }
+        TraceContext.Scope traceScope = traceContext != null ? traceContext.open() : null;
+
+        DatabaseWorkload previous = DatabaseWorkload.enter(DatabaseWorkload.INGESTION);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EventSummary.clearPendingDeserialization();
+            DatabaseWorkload.restore(previous);
+            if (traceScope != null) {
+                traceScope.close();
+            }
+        }
+    }
+
+    private boolean isTrustedSidecar(HttpServletRequest request) {
+        String token = request.getHeader(API_TOKEN_HEADER);
+        return token != null && MessageDigest.isEqual(apiToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.xshopai.orderprocessor.filter;
+
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Assigns each request a DatabaseWorkload so it is served by the matching connection pool
+ * Admin, operational and actuator endpoints use the admin pool; Dapr event deliveries
+ * (/dapr/**) are assigned the ingestion pool by DaprIngressFilter.
+ */
+@Component
+@Order(2)
+public class DatabaseWorkloadFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (((HttpServletRequest) request).getRequestURI().startsWith(DaprIngressFilter.DAPR_PATH_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        DatabaseWorkload previous = DatabaseWorkload.enter(DatabaseWorkload.ADMIN);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DatabaseWorkload.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.xshopai.orderprocessor.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that counts the events it drops
+ *
+ * Behaves like logback's AsyncAppender (bounded queue, discardingThreshold, neverBlock) and
+ * additionally counts events discarded because the queue was past the discarding threshold
+ * or completely full. LoggingMetrics exports the counts. Time spent enqueueing is added to
+ * the current event's log phase.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    /**
+     * Why an event was dropped
+     */
+    public enum DropReason { THRESHOLD, QUEUE_FULL }
+
+    private static final Map<String, Map<DropReason, LongAdder>> DROPS = new ConcurrentHashMap<>();
+
+    private Map<DropReason, LongAdder> drops;
+
+    @Override
+    public void start() {
+        drops = DROPS.computeIfAbsent(getName(), name -> Map.of(
+            DropReason.THRESHOLD, new LongAdder(),
+            DropReason.QUEUE_FULL, new LongAdder()));
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            drops.get(DropReason.THRESHOLD).increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            drops.get(DropReason.QUEUE_FULL).increment();
+        }
+        // Enqueueing is the logging cost on the calling thread; it blocks when the queue is full
+        long start = System.nanoTime();
+        super.append(event);
+        EventSummary.recordPhase(EventSummary.Phase.LOG, System.nanoTime() - start);
+    }
+
+    /**
+     * Dropped event counts by appender name
+     */
+    public static Map<String, Map<DropReason, LongAdder>> dropCounts() {
+        return DROPS;
+    }
+}
@@ -0,0 +1,155 @@
+package com.xshopai.orderprocessor.logging;
+
+import net.logstash.logback.argument.StructuredArguments;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event log summary
+ *
+ * Collects the facts about one consumed event (ids, outcome, status transition) and the time
+ * spent in each phase, then writes them as a single structured INFO line when the event is
+ * done. Code on the event path annotates the current summary through the static helpers,
+ * which do nothing outside an event (admin calls, schedulers, tests). Phase times are plain
+ * nanoTime deltas added into a fixed array, so recording them never allocates.
+ */
+public final class EventSummary {
+
+    /**
+     * Where time goes while handling an event
+     */
+    public enum Phase {
+        DESERIALIZE,    // binding the CloudEvent request body
+        DB,             // JDBC statements, queries and writes
+        FLUSH,          // Hibernate flushes, including the writes they send
+        PUBLISH,        // Dapr publish calls
+        SECRET,         // Dapr secret store calls
+        LOG;            // enqueueing log events on the event thread
+
+        private final String field = name().toLowerCase(Locale.ROOT) + "Ms";
+
+        public String field() {
+            return field;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<EventSummary> CURRENT = new ThreadLocal<>();
+    // Request body binding happens before the handler begins its summary
+    private static final ThreadLocal<long[]> PENDING_DESERIALIZE = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final String topic;
+    private final String eventId;
+    private final EventSummary previous;
+    private long totalNanos;
+
+    private EventSummary(String topic, String eventId, EventSummary previous) {
+        this.topic = topic;
+        this.eventId = eventId;
+        this.previous = previous;
+        fields.put("topic", topic);
+        fields.put("eventId", eventId);
+    }
+
+    /**
+     * Start summarizing an event on the current thread
+     */
+    public static EventSummary begin(String topic, String eventId) {
+        EventSummary summary = new EventSummary(topic, eventId, CURRENT.get());
+        long[] pending = PENDING_DESERIALIZE.get();
+        summary.phaseNanos[Phase.DESERIALIZE.ordinal()] = pending[0];
+        pending[0] = 0;
+        CURRENT.set(summary);
+        return summary;
+    }
+
+    /**
+     * Add a field to the current event's summary line
+     */
+    public static void put(String key, Object value) {
+        EventSummary summary = CURRENT.get();
+        if (summary != null && value != null) {
+            summary.fields.put(key, value);
+        }
+    }
+
+    /**
+     * Add time spent in a phase to the current event
+     */
+    public static void recordPhase(Phase phase, long nanos) {
+        EventSummary summary = CURRENT.get();
+        if (summary != null) {
+            summary.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * Record request body binding for the event about to begin on this thread
+     */
+    public static void recordDeserialization(long nanos) {
+        PENDING_DESERIALIZE.get()[0] = nanos;
+    }
+
+    /**
+     * Drop binding time that no event began with, e.g. because dispatch failed after binding
+     */
+    public static void clearPendingDeserialization() {
+        PENDING_DESERIALIZE.get()[0] = 0;
+    }
+
+    /**
+     * A field recorded on this summary, e.g. orderId, or null
+     */
+    public Object get(String key) {
+        return fields.get(key);
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    public String eventId() {
+        return eventId;
+    }
+
+    /**
+     * Time from begin to finish, known once finished
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Log the summary line and detach it from the thread
+     */
+    public void finish(Logger log, String outcome) {
+        CURRENT.set(previous);
+        totalNanos = System.nanoTime() - startNanos;
+        fields.putIfAbsent("outcome", outcome);
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        fields.put("totalMs", toMillis(totalNanos));
+        for (Phase phase : PHASES) {
+            if (phaseNanos[phase.ordinal()] > 0) {
+                fields.put(phase.field(), toMillis(phaseNanos[phase.ordinal()]));
+            }
+        }
+        log.info("Processed event {}", StructuredArguments.entries(fields));
+    }
+
+    public static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+    }
+}
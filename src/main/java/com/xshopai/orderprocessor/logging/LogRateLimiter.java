@@ -0,0 +1,48 @@
+package com.xshopai.orderprocessor.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log rate limiter
+ *
+ * Lets a repetitive log statement through a fixed number of times per window and counts the
+ * rest, so the next line that is logged can report how many were suppressed.
+ */
+public final class LogRateLimiter {
+
+    private final int permitsPerWindow;
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(int permitsPerWindow, Duration window) {
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Whether the caller may log now; counts a suppressed line otherwise
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerWindow) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Number of lines suppressed since the last call
+     */
+    public long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.xshopai.orderprocessor.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exports log events dropped by the async appenders as logging.events.dropped, tagged with
+ * the appender and the drop reason
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CountingAsyncAppender.dropCounts().forEach((appender, reasons) ->
+            reasons.forEach((reason, count) ->
+                FunctionCounter.builder("logging.events.dropped", count, LongAdder::sum)
+                    .description("Log events dropped by an async appender")
+                    .tag("appender", appender)
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry)));
+    }
+}
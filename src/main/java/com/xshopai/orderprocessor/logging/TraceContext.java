@@ -0,0 +1,179 @@
+package com.xshopai.orderprocessor.logging;
+
+import com.xshopai.orderprocessor.util.TraceParent;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import org.slf4j.MDC;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Trace context carried across threads
+ *
+ * Immutable trace, span and correlation IDs bound to the current thread. Handing work to
+ * another thread captures a single reference (wrap) instead of copying the MDC map; opening
+ * the context on the worker binds it and mirrors the three IDs into MDC for the log
+ * patterns, and closing the scope restores whatever was bound before. When a tracing span is
+ * active its IDs are used, and wrap carries the span's context along too, so spans started on
+ * the worker join the same trace.
+ */
+public record TraceContext(String traceId, String spanId, String correlationId) {
+
+    public static final String MDC_TRACE_ID_KEY = "traceId";
+    public static final String MDC_SPAN_ID_KEY = "spanId";
+    public static final String MDC_CORRELATION_ID_KEY = "correlationId";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Scope of a bound context; closing it restores the previous one
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * The context bound to the current thread, or null
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Context for an incoming traceparent; the trace ID doubles as correlation ID
+     */
+    public static TraceContext of(TraceParent traceParent) {
+        return new TraceContext(traceParent.traceId(), traceParent.spanId(), traceParent.traceId());
+    }
+
+    /**
+     * Context of the active tracing span, or null when no span is active
+     */
+    public static TraceContext ofActiveSpan() {
+        SpanContext span = Span.current().getSpanContext();
+        return span.isValid() ? new TraceContext(span.getTraceId(), span.getSpanId(), span.getTraceId()) : null;
+    }
+
+    /**
+     * traceparent for an outgoing call: the active span if any, else the bound context, else null
+     */
+    public static String currentTraceparent() {
+        TraceContext context = ofActiveSpan();
+        if (context == null) {
+            context = CURRENT.get();
+        }
+        return context != null ? context.traceparent() : null;
+    }
+
+    /**
+     * Fresh context for work that doesn't originate from a request, e.g. a scheduled run
+     */
+    public static TraceContext newRoot() {
+        return of(TraceParent.generate());
+    }
+
+    /**
+     * Bind this context to the current thread
+     */
+    public Scope open() {
+        TraceContext previous = CURRENT.get();
+        bind(this);
+        return () -> bind(previous);
+    }
+
+    /**
+     * Bind a previously captured context, which may be null, e.g. inside a Reactor callback
+     */
+    public static Scope restore(TraceContext captured) {
+        return captured != null ? captured.open() : () -> { };
+    }
+
+    /**
+     * W3C traceparent header value for outgoing calls
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    /**
+     * Capture the current context so the task runs with it on another thread
+     */
+    public static Runnable wrap(Runnable task) {
+        Context spanContext = Context.current();
+        Runnable traced = spanContext == Context.root() ? task : spanContext.wrap(task);
+        TraceContext context = CURRENT.get();
+        if (context == null) {
+            return traced;
+        }
+        return () -> {
+            try (Scope ignored = context.open()) {
+                traced.run();
+            }
+        };
+    }
+
+    /**
+     * Capture the current context so the task runs with it on another thread
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Context spanContext = Context.current();
+        Callable<T> traced = spanContext == Context.root() ? task : spanContext.wrap(task);
+        TraceContext context = CURRENT.get();
+        if (context == null) {
+            return traced;
+        }
+        return () -> {
+            try (Scope ignored = context.open()) {
+                return traced.call();
+            }
+        };
+    }
+
+    /**
+     * Capture the current context for every thread the factory creates, for pools owned by a
+     * single unit of work; the context is bound once per thread rather than once per task
+     */
+    public static ThreadFactory propagating(ThreadFactory factory) {
+        TraceContext context = CURRENT.get();
+        Context spanContext = Context.current();
+        if (context == null && spanContext == Context.root()) {
+            return factory;
+        }
+        return task -> factory.newThread(() -> {
+            try (Scope ignored = restore(context); io.opentelemetry.context.Scope span = spanContext.makeCurrent()) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Run a task in the current context, or in a new root context when there is none
+     */
+    public static void runInTrace(Runnable task) {
+        TraceContext context = CURRENT.get();
+        if (context != null) {
+            task.run();
+            return;
+        }
+        try (Scope ignored = newRoot().open()) {
+            task.run();
+        }
+    }
+
+    private static void bind(TraceContext context) {
+        if (context == null) {
+            CURRENT.remove();
+            MDC.remove(MDC_TRACE_ID_KEY);
+            MDC.remove(MDC_SPAN_ID_KEY);
+            MDC.remove(MDC_CORRELATION_ID_KEY);
+            return;
+        }
+        CURRENT.set(context);
+        MDC.put(MDC_TRACE_ID_KEY, context.traceId);
+        MDC.put(MDC_SPAN_ID_KEY, context.spanId);
+        MDC.put(MDC_CORRELATION_ID_KEY, context.correlationId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest.Action;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk operation job
+ *
+ * @param total sagas targeted, known once the filter has been resolved
+ * @param skipped sagas not in a state the action applies to
+ * @param failed sagas in chunks whose transaction rolled back
+ */
+public record BulkJobStatus(
+    UUID id,
+    Action action,
+    State state,
+    long total,
+    long processed,
+    long succeeded,
+    long skipped,
+    long failed,
+    long eventsPublished,
+    long eventsFailed,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,24 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admin bulk operation over many sagas
+ * Targets either an explicit list of saga ids or every saga matching the filter
+ *
+ * @param reason recorded as the saga error message for CANCEL
+ */
+public record BulkOperationRequest(
+    Action action,
+    List<UUID> sagaIds,
+    SagaSearchCriteria filter,
+    String reason
+) {
+
+    public enum Action {
+        CONFIRM_PAYMENT,    // PENDING_PAYMENT_CONFIRMATION sagas move on to shipping preparation
+        CANCEL,             // Compensate and fail the order, like an order cancellation
+        COMPENSATE          // Re-run compensation for COMPENSATING or CANCELLED sagas
+    }
+}
@@ -0,0 +1,14 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * nextCursor is opaque to clients and null on the last page
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {
+}
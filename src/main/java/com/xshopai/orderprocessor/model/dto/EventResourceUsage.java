@@ -0,0 +1,19 @@
+package com.xshopai.orderprocessor.model.dto;
+
+/**
+ * Heap allocation and CPU time per consumed event of one topic since startup
+ *
+ * @param baselineBytesPerEvent allocation per event recorded for the previous release, null if
+ *                              none is configured for this topic
+ * @param regressed             whether recent allocation per event exceeds the baseline by more
+ *                              than the configured tolerance
+ */
+public record EventResourceUsage(
+    String topic,
+    long events,
+    long allocatedBytesPerEvent,
+    double cpuMsPerEvent,
+    Long baselineBytesPerEvent,
+    boolean regressed
+) {
+}
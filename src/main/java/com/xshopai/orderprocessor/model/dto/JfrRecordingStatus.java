@@ -0,0 +1,23 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of the diagnostic JFR recording
+ *
+ * @param state RUNNING, or STOPPED once stopped or its duration has elapsed
+ * @param duration the recording stops by itself after this long
+ * @param sizeBytes data recorded so far
+ */
+public record JfrRecordingStatus(
+    long id,
+    String state,
+    String settings,
+    Instant startedAt,
+    Instant stoppedAt,
+    Duration duration,
+    long maxSizeBytes,
+    long sizeBytes
+) {
+}
@@ -0,0 +1,45 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import com.xshopai.orderprocessor.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (created_at, id) ordering of sagas
+ * Encoded as an opaque base64url token so clients can't depend on its contents
+ */
+public record SagaCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     *
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static SagaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new SagaCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Thrown by the base64, UUID and timestamp parsers
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for admin saga listings; null fields are not applied
+ *
+ * @param productId sagas whose order items contain this product
+ * @param createdFrom inclusive lower bound on created_at
+ * @param createdTo exclusive upper bound on created_at
+ * @param errorText words that must all appear in the error message
+ */
+public record SagaSearchCriteria(
+    SagaStatus status,
+    String customerId,
+    String productId,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    String errorText
+) {
+
+    public SagaSearchCriteria(SagaStatus status, String customerId) {
+        this(status, customerId, null, null, null, null);
+    }
+}
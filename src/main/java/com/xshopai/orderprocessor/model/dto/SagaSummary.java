@@ -0,0 +1,28 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.ProcessingStep;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Slim saga view for admin listings
+ * Leaves out the jsonb order items and addresses
+ */
+public record SagaSummary(
+    UUID id,
+    UUID orderId,
+    String orderNumber,
+    String customerId,
+    SagaStatus status,
+    ProcessingStep currentStep,
+    BigDecimal totalAmount,
+    String currency,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,20 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A committed saga status change
+ * from is null for newly created sagas and to is null for deleted ones
+ */
+public record SagaTransition(
+    UUID sagaId,
+    UUID orderId,
+    String orderNumber,
+    SagaStatus from,
+    SagaStatus to,
+    Instant occurredAt
+) {
+}
@@ -0,0 +1,25 @@
+package com.xshopai.orderprocessor.model.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A consumed event kept in the slowest-events buffer
+ *
+ * @param statements JDBC statements the event executed, null if it didn't get that far
+ * @param phasesMs time per phase (deserializeMs, dbMs, flushMs, publishMs, secretMs, logMs);
+ *                 phases the event didn't go through are left out
+ */
+public record SlowEvent(
+    String topic,
+    String eventId,
+    String orderId,
+    String sagaId,
+    String transition,
+    String outcome,
+    Instant finishedAt,
+    double totalMs,
+    Long statements,
+    Map<String, Double> phasesMs
+) {
+}
@@ -1,8 +1,12 @@
 package com.xshopai.orderprocessor.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.xshopai.orderprocessor.diagnostics.SagaTransitionEvent;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -16,6 +20,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "order_processing_saga")
+@EntityListeners(SagaStatusListener.class)
 @Data
 @NoArgsConstructor
 public class OrderProcessingSaga {
@@ -71,6 +76,10 @@ public class OrderProcessingSaga {
     @Column(name = "error_message")
     private String errorMessage;
 
+    // Incremented by the update trigger on every UPDATE (V2 migration); never written by Hibernate
+    @Column(name = "version", insertable = false, updatable = false)
+    private Integer version;
+
     @Column(name = "retry_count", nullable = false)
     private Integer retryCount = 0;
 
@@ -83,6 +92,38 @@ public class OrderProcessingSaga {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Step timings, used for per-step dwell-time metrics
+    @Column(name = "payment_processing_started_at")
+    private LocalDateTime paymentProcessingStartedAt;
+
+    @Column(name = "payment_processing_completed_at")
+    private LocalDateTime paymentProcessingCompletedAt;
+
+    @Column(name = "inventory_processing_started_at")
+    private LocalDateTime inventoryProcessingStartedAt;
+
+    @Column(name = "inventory_processing_completed_at")
+    private LocalDateTime inventoryProcessingCompletedAt;
+
+    @Column(name = "shipping_processing_started_at")
+    private LocalDateTime shippingProcessingStartedAt;
+
+    @Column(name = "shipping_processing_completed_at")
+    private LocalDateTime shippingProcessingCompletedAt;
+
+    // Status as last loaded from or written to the database, used to track transitions
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private SagaStatus persistedStatus;
+
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private SagaTransitionEvent transitionEvent;
+
     public enum SagaStatus {
         CREATED,                        // Order created, saga initiated
         PENDING_PAYMENT_CONFIRMATION,   // Waiting for admin to confirm payment received
@@ -142,9 +183,33 @@ public class OrderProcessingSaga {
     public void markPaymentConfirmed() {
         this.status = SagaStatus.PAYMENT_CONFIRMED;
         this.currentStep = ProcessingStep.AWAITING_SHIPMENT;
+        this.paymentProcessingCompletedAt = LocalDateTime.now();
     }
 
     public void markShippingPrepared() {
         this.status = SagaStatus.SHIPPING_PREPARED;
+        this.shippingProcessingCompletedAt = LocalDateTime.now();
+    }
+
+    public void markPaymentStarted() {
+        if (this.paymentProcessingStartedAt == null) {
+            this.paymentProcessingStartedAt = LocalDateTime.now();
+        }
+    }
+
+    public void markInventoryStarted() {
+        if (this.inventoryProcessingStartedAt == null) {
+            this.inventoryProcessingStartedAt = LocalDateTime.now();
+        }
+    }
+
+    public void markInventoryCompleted() {
+        this.inventoryProcessingCompletedAt = LocalDateTime.now();
+    }
+
+    public void markShippingStarted() {
+        if (this.shippingProcessingStartedAt == null) {
+            this.shippingProcessingStartedAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.xshopai.orderprocessor.model.entity;
+
+import com.xshopai.orderprocessor.diagnostics.SagaTransitionEvent;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Publishes saga status transitions as SagaTransition application events
+ *
+ * Tracks the last persisted status on the entity and publishes once the surrounding
+ * transaction commits, so rolled-back work is never seen by SagaStatusCounters or the
+ * admin live feed. Each transition write is recorded as a SagaTransition JFR event; the
+ * saga.transition span is recorded by SagaOrchestratorService, not here.
+ */
+@Component
+@RequiredArgsConstructor
+public class SagaStatusListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad(OrderProcessingSaga saga) {
+        saga.setPersistedStatus(saga.getStatus());
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void beforeSave(OrderProcessingSaga saga) {
+        SagaStatus from = saga.getPersistedStatus();
+        SagaStatus to = saga.getStatus();
+        if (from == to) {
+            return;
+        }
+        SagaTransitionEvent event = new SagaTransitionEvent();
+        event.begin();
+        saga.setTransitionEvent(event);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(OrderProcessingSaga saga) {
+        SagaStatus from = saga.getPersistedStatus();
+        SagaStatus to = saga.getStatus();
+        saga.setPersistedStatus(to);
+        SagaTransitionEvent event = saga.getTransitionEvent();
+        if (event != null) {
+            saga.setTransitionEvent(null);
+            event.complete(saga.getId(), saga.getOrderId(), from, to);
+        }
+        afterCommit(saga, from, to);
+    }
+
+    @PostRemove
+    public void onRemove(OrderProcessingSaga saga) {
+        SagaStatus from = saga.getPersistedStatus();
+        saga.setPersistedStatus(null);
+        afterCommit(saga, from, null);
+    }
+
+    private void afterCommit(OrderProcessingSaga saga, SagaStatus from, SagaStatus to) {
+        if (from == to) {
+            return;
+        }
+        SagaTransition transition = new SagaTransition(
+            saga.getId(), saga.getOrderId(), saga.getOrderNumber(), from, to, Instant.now());
+        EventSummary.put("transition", from + "->" + to);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(transition);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventPublisher.publishEvent(transition);
+            }
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,8 +16,10 @@ import java.util.UUID;
 
 /**
  * Repository for Order Processing Saga entities
+ * Query methods are read-only so that, outside a write transaction, they can be served by the read replica
  */
 @Repository
+@Transactional(readOnly = true)
 public interface OrderProcessingSagaRepository extends JpaRepository<OrderProcessingSaga, UUID> {
 
     /**
@@ -24,6 +27,18 @@ public interface OrderProcessingSagaRepository extends JpaRepository<OrderProces
      */
     Optional<OrderProcessingSaga> findByOrderId(UUID orderId);
 
+    /**
+     * Current version of a saga, without loading the entity
+     */
+    @Query("SELECT s.id AS id, s.version AS version FROM OrderProcessingSaga s WHERE s.id = :id")
+    Optional<SagaVersion> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Current version of the saga for an order, without loading the entity
+     */
+    @Query("SELECT s.id AS id, s.version AS version FROM OrderProcessingSaga s WHERE s.orderId = :orderId")
+    Optional<SagaVersion> findVersionByOrderId(@Param("orderId") UUID orderId);
+
     /**
      * Find all sagas with specific status
      */
@@ -46,8 +61,10 @@ public interface OrderProcessingSagaRepository extends JpaRepository<OrderProces
 
     /**
      * Update saga status
+     * Bypasses entity listeners, so SagaStatusCounters only pick the change up on the next reconcile
      */
     @Modifying
+    @Transactional
     @Query("UPDATE OrderProcessingSaga s SET s.status = :status, s.updatedAt = :updatedAt WHERE s.id = :id")
     int updateStatus(@Param("id") UUID id, @Param("status") SagaStatus status, @Param("updatedAt") LocalDateTime updatedAt);
 
@@ -66,6 +83,14 @@ public interface OrderProcessingSagaRepository extends JpaRepository<OrderProces
      */
     long countByStatusIn(List<SagaStatus> statuses);
 
+    /**
+     * Count sagas per status, including how many were last updated before the cutoff
+     */
+    @Query("SELECT s.status AS status, COUNT(s) AS total, " +
+           "SUM(CASE WHEN s.updatedAt < :cutoffTime THEN 1 ELSE 0 END) AS stuck " +
+           "FROM OrderProcessingSaga s GROUP BY s.status")
+    List<StatusCount> countGroupedByStatus(@Param("cutoffTime") LocalDateTime cutoffTime);
+
     /**
      * Count stuck sagas
      */
@@ -79,4 +104,21 @@ public interface OrderProcessingSagaRepository extends JpaRepository<OrderProces
      * Find sagas created within time range
      */
     List<OrderProcessingSaga> findByCreatedAtBetween(LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Row of findVersionById / findVersionByOrderId
+     */
+    interface SagaVersion {
+        UUID getId();
+        Integer getVersion();
+    }
+
+    /**
+     * Per-status row of countGroupedByStatus
+     */
+    interface StatusCount {
+        SagaStatus getStatus();
+        long getTotal();
+        Long getStuck();
+    }
 }
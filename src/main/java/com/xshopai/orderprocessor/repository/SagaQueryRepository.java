@@ -0,0 +1,180 @@
+package com.xshopai.orderprocessor.repository;
+
+import com.xshopai.orderprocessor.model.dto.CursorPage;
+import com.xshopai.orderprocessor.model.dto.SagaCursor;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.dto.SagaSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.ProcessingStep;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-side queries for admin saga listings
+ *
+ * Uses keyset pagination on (created_at, id), newest first, so each page is a bounded
+ * index range scan with no COUNT(*) and no OFFSET; latency stays flat however deep the
+ * caller pages. Selects only the columns of SagaSummary.
+ *
+ * Each search filter is backed by an index: status and customer by the V5 composite
+ * indexes, product containment by the V4 GIN index on order_items, error text by the V6
+ * full-text index and the time range by (created_at, id).
+ *
+ * streamAll() reads through a server-side cursor (fetch size > 0 inside a transaction), so
+ * exports hold at most one fetch batch in memory.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class SagaQueryRepository {
+
+    static final String SUMMARY_COLUMNS = """
+            id, order_id, order_number, customer_id, status, current_step, total_amount, currency,
+            error_message, created_at, updated_at, completed_at""";
+
+    static final RowMapper<SagaSummary> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new SagaSummary(
+        rs.getObject("id", UUID.class),
+        rs.getObject("order_id", UUID.class),
+        rs.getString("order_number"),
+        rs.getString("customer_id"),
+        SagaStatus.valueOf(rs.getString("status")),
+        ProcessingStep.valueOf(rs.getString("current_step")),
+        rs.getBigDecimal("total_amount"),
+        rs.getString("currency"),
+        rs.getString("error_message"),
+        rs.getObject("created_at", LocalDateTime.class),
+        rs.getObject("updated_at", LocalDateTime.class),
+        rs.getObject("completed_at", LocalDateTime.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public SagaQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                               @Value("${saga.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(fetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /**
+     * Fetch the page of sagas after the given cursor
+     *
+     * @param criteria filters to apply
+     * @param after position to continue from, or null for the first page
+     * @param limit maximum number of sagas to return
+     */
+    public CursorPage<SagaSummary> findPage(SagaSearchCriteria criteria, SagaCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS)
+            .append(" FROM order_processing_saga WHERE ").append(whereClause(criteria, params));
+
+        if (after != null) {
+            // Row comparison matches the index order and keeps the scan a single range
+            sql.append(" AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", after.createdAt());
+            params.addValue("afterId", after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        // One extra row tells us whether another page exists
+        params.addValue("limit", limit + 1);
+
+        List<SagaSummary> rows = jdbcTemplate.query(sql.toString(), params, SUMMARY_ROW_MAPPER);
+        boolean hasMore = rows.size() > limit;
+        List<SagaSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            SagaSummary last = items.get(items.size() - 1);
+            nextCursor = new SagaCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    /**
+     * Stream every saga matching the criteria, oldest first, to the consumer
+     * Rows are handed over one at a time while the cursor is open
+     *
+     * @return number of rows streamed
+     */
+    public long streamAll(SagaSearchCriteria criteria, Consumer<SagaSummary> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM order_processing_saga WHERE "
+            + whereClause(criteria, params) + " ORDER BY created_at, id";
+
+        long[] rows = {0};
+        streamingJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(SUMMARY_ROW_MAPPER.mapRow(rs, (int) rows[0]));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * Ids of sagas matching the criteria, oldest first
+     */
+    public List<UUID> findIds(SagaSearchCriteria criteria, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT id FROM order_processing_saga WHERE " + whereClause(criteria, params)
+            + " ORDER BY created_at, id LIMIT :limit";
+        params.addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    /**
+     * Build the WHERE clause for the criteria, adding parameters as needed
+     */
+    String whereClause(SagaSearchCriteria criteria, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("TRUE");
+        if (criteria.status() != null) {
+            where.append(" AND status = :status");
+            params.addValue("status", criteria.status().name());
+        }
+        if (criteria.customerId() != null) {
+            where.append(" AND customer_id = :customerId");
+            params.addValue("customerId", criteria.customerId());
+        }
+        if (criteria.productId() != null) {
+            // jsonb containment, served by the GIN index on order_items
+            where.append(" AND order_items @> CAST(:orderItems AS jsonb)");
+            params.addValue("orderItems", productContainment(criteria.productId()));
+        }
+        if (criteria.createdFrom() != null) {
+            where.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", criteria.createdFrom());
+        }
+        if (criteria.createdTo() != null) {
+            where.append(" AND created_at < :createdTo");
+            params.addValue("createdTo", criteria.createdTo());
+        }
+        if (criteria.errorText() != null) {
+            // Must match the V6 index expression exactly
+            where.append(" AND to_tsvector('simple', coalesce(error_message, '')) @@ plainto_tsquery('simple', :errorText)");
+            params.addValue("errorText", criteria.errorText());
+        }
+        return where.toString();
+    }
+
+    private String productContainment(String productId) {
+        try {
+            return objectMapper.writeValueAsString(List.of(Map.of("productId", productId)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid product id", e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.xshopai.orderprocessor.scheduler;
 
+import com.xshopai.orderprocessor.logging.TraceContext;
 import com.xshopai.orderprocessor.service.SagaOrchestratorService;
+import com.xshopai.orderprocessor.service.SagaStatusCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Component;
  * Scheduled tasks for saga management
  * Note: For production, consider using Dapr Workflows (when available in SDK)
  * or Dapr Actors with reminders for distributed saga timeout handling
+ * Each run gets its own TraceContext so its log lines (and any events it publishes) correlate.
  */
 @Component
 @EnableScheduling
@@ -19,6 +22,7 @@ import org.springframework.stereotype.Component;
 public class SagaScheduledTasks {
 
     private final SagaOrchestratorService sagaOrchestratorService;
+    private final SagaStatusCounters statusCounters;
 
     /**
      * Check for and process stuck sagas every 15 minutes
@@ -27,12 +31,25 @@ public class SagaScheduledTasks {
      */
     @Scheduled(fixedRateString = "${saga.scheduler.stuck-sagas-rate:900000}")
     public void processStuckSagas() {
-        log.info("Starting scheduled task: processStuckSagas");
-        
-        try {
+        try (TraceContext.Scope ignored = TraceContext.newRoot().open()) {
+            log.info("Starting scheduled task: processStuckSagas");
             sagaOrchestratorService.processStuckSagas();
         } catch (Exception e) {
             log.error("Error processing stuck sagas: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Reconcile the in-memory saga status counters with the database
+     * Runs once at startup to seed the counters, then every minute to pick up
+     * changes made by other instances and refresh stuck counts
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${saga.scheduler.counter-reconcile-ms:60000}")
+    public void reconcileStatusCounters() {
+        try (TraceContext.Scope ignored = TraceContext.newRoot().open()) {
+            statusCounters.reconcile();
+        } catch (Exception e) {
+            log.error("Error reconciling saga status counters: {}", e.getMessage(), e);
+        }
+    }
 }
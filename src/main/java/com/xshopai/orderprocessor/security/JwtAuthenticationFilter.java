@@ -16,10 +16,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter
  * Validates JWT tokens from Authorization header and sets Spring Security context
+ * Runs only inside the Spring Security chain; see SecurityConfig.
  */
 @Component
 @RequiredArgsConstructor
@@ -35,12 +37,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         
-        // Skip JWT validation for Dapr endpoints
-        if (request.getRequestURI().startsWith("/dapr/")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
@@ -56,36 +52,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Extract user email from token
-            userEmail = jwtService.extractUsername(jwt);
+            // Single verification per token, cached until it expires
+            Optional<JwtService.VerifiedToken> verified = jwtService.verify(jwt);
+            userEmail = verified.map(JwtService.VerifiedToken::username).orElse(null);
 
             // If user is not already authenticated and token is valid
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                // Validate token
-                if (jwtService.validateToken(jwt)) {
-                    // Extract authorities/roles
-                    List<GrantedAuthority> authorities = jwtService.extractAuthorities(jwt);
-                    String userId = jwtService.extractUserId(jwt);
-                    
-                    log.debug("JWT validated for user: {} (ID: {}), roles: {}", userEmail, userId, authorities);
+                JwtService.VerifiedToken token = verified.get();
+                List<GrantedAuthority> authorities = token.authorities();
+
+                log.debug("JWT validated for user: {} (ID: {}), roles: {}", userEmail, token.userId(), authorities);
+
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userEmail,
+                        null,
+                        authorities
+                );
+
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                // Set authentication in Security Context
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userEmail,
-                            null,
-                            authorities
-                    );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in Security Context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.info("Authentication successful for user: {} with roles: {}", userEmail, authorities);
-                } else {
-                    log.warn("Invalid or expired JWT token");
-                }
+                log.info("Authentication successful for user: {} with roles: {}", userEmail, authorities);
+            } else if (verified.isEmpty()) {
+                log.warn("Invalid or expired JWT token");
             }
         } catch (Exception e) {
             log.error("JWT authentication failed", e);
@@ -2,8 +2,11 @@ package com.xshopai.orderprocessor.security;
 
 import com.xshopai.orderprocessor.client.DaprSecretManager;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,9 +15,18 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -22,13 +34,22 @@ import java.util.function.Function;
  * Compatible with tokens generated by auth-service (Node.js)
  * Uses Dapr Secret Manager to retrieve JWT secret with lazy loading
  * Algorithm and expiration are configurable via application.yml
+ *
+ * verify() parses and verifies a token once and caches the result, keyed by the SHA-256 of the
+ * token, until the token's exp; invalid tokens are cached for a short negative TTL in a separate,
+ * smaller cache so a flood of garbage tokens can't push out valid ones. Repeat requests with the
+ * same token cost one hash and one map lookup. A full cache first drops expired entries, then
+ * the entries closest to expiry.
  */
 @Service
 @Slf4j
 public class JwtService {
 
     private final DaprSecretManager secretManager;
+    private TokenCache tokenCache;
+    private TokenCache negativeCache;
     private volatile SecretKey secretKey;
+    private volatile JwtParser parser;
     
     @Value("${jwt.algorithm:HS256}")
     private String jwtAlgorithm;
@@ -42,10 +63,37 @@ public class JwtService {
     @Value("${jwt.audience:xshopai-platform}")
     private String jwtAudience;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${jwt.cache.negative-max-entries:1000}")
+    private int negativeCacheMaxEntries;
+
+    @Value("${jwt.cache.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    /**
+     * Identity and authorities of a verified token
+     */
+    public record VerifiedToken(String username, String userId, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+
+    /**
+     * Cache entry; token is null for a token that failed verification
+     */
+    private record CachedToken(VerifiedToken token, long expiresAtMillis) {
+    }
+
     public JwtService(DaprSecretManager secretManager) {
         this.secretManager = secretManager;
         // Don't load secret in constructor - use lazy loading on first use
     }
+
+    @PostConstruct
+    void initCaches() {
+        tokenCache = new TokenCache(cacheMaxEntries);
+        negativeCache = new TokenCache(negativeCacheMaxEntries);
+    }
     
     /**
      * Get configured JWT algorithm
@@ -80,6 +128,80 @@ public class JwtService {
         return secretKey;
     }
 
+    /**
+     * Parser with the verification key, issuer and audience requirements, built once
+     */
+    private JwtParser getParser() {
+        if (parser == null) {
+            synchronized (this) {
+                if (parser == null) {
+                    parser = Jwts.parser()
+                            .verifyWith(getSecretKey())
+                            .requireIssuer(jwtIssuer)  // Validate issuer
+                            .requireAudience(jwtAudience)  // Validate audience
+                            .build();
+                }
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Verify a token and return its identity, or empty if it is invalid or expired
+     * Results are cached per token until it expires
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        CachedToken cached = tokenCache.get(key, now);
+        if (cached == null) {
+            cached = negativeCache.get(key, now);
+        }
+        if (cached != null) {
+            return Optional.ofNullable(cached.token());
+        }
+
+        CachedToken entry;
+        try {
+            Claims claims = getParser().parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                log.debug("JWT verification failed: token has no expiration");
+                entry = new CachedToken(null, now + negativeTtl.toMillis());
+            } else {
+                VerifiedToken verified = new VerifiedToken(
+                        claims.get("email", String.class),
+                        claims.get("id", String.class),
+                        toAuthorities(rolesOf(claims)),
+                        expiration.toInstant());
+                entry = new CachedToken(verified, expiration.getTime());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT verification failed: {}", e.getMessage());
+            entry = new CachedToken(null, now + negativeTtl.toMillis());
+        }
+
+        (entry.token() != null ? tokenCache : negativeCache).put(key, entry, now);
+        return Optional.ofNullable(entry.token());
+    }
+
+    int cachedTokens() {
+        return tokenCache.size();
+    }
+
+    int cachedRejections() {
+        return negativeCache.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Extract username (email) from JWT token
      */
@@ -97,22 +219,27 @@ public class JwtService {
     /**
      * Extract roles from JWT token
      */
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> {
-            Object rolesObj = claims.get("roles");
-            if (rolesObj instanceof List) {
-                return (List<String>) rolesObj;
-            }
-            return new ArrayList<>();
-        });
+        return extractClaim(token, JwtService::rolesOf);
     }
 
     /**
      * Convert roles to Spring Security authorities
      */
     public List<GrantedAuthority> extractAuthorities(String token) {
-        List<String> roles = extractRoles(token);
+        return toAuthorities(extractRoles(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> rolesOf(Claims claims) {
+        Object rolesObj = claims.get("roles");
+        if (rolesObj instanceof List) {
+            return (List<String>) rolesObj;
+        }
+        return new ArrayList<>();
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> roles) {
         return roles.stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
                 .map(auth -> (GrantedAuthority) auth)
@@ -138,13 +265,7 @@ public class JwtService {
      * Extract all claims from JWT token with issuer and audience validation
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .requireIssuer(jwtIssuer)  // Validate issuer
-                .requireAudience(jwtAudience)  // Validate audience
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return getParser().parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -165,4 +286,50 @@ public class JwtService {
             return false;
         }
     }
+
+    /**
+     * Bounded token cache; when full, expired entries go first, then the tenth of the entries
+     * closest to expiry (for negative entries, the oldest)
+     */
+    private static final class TokenCache {
+
+        private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+        private final int maxEntries;
+
+        TokenCache(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        CachedToken get(String key, long now) {
+            CachedToken cached = entries.get(key);
+            return cached != null && cached.expiresAtMillis() > now ? cached : null;
+        }
+
+        void put(String key, CachedToken entry, long now) {
+            if (entries.size() >= maxEntries) {
+                evict(now);
+            }
+            entries.put(key, entry);
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private synchronized void evict(long now) {
+            if (entries.size() < maxEntries) {
+                return;
+            }
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            if (excess > 0) {
+                entries.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(CachedToken::expiresAtMillis)))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+            }
+        }
+    }
 }
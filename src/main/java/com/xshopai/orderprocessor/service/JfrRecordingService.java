@@ -0,0 +1,153 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.diagnostics.DaprPublishEvent;
+import com.xshopai.orderprocessor.diagnostics.SagaEventReceivedEvent;
+import com.xshopai.orderprocessor.diagnostics.SagaRepositoryCallEvent;
+import com.xshopai.orderprocessor.diagnostics.SagaTransitionEvent;
+import com.xshopai.orderprocessor.exception.InvalidRequestException;
+import com.xshopai.orderprocessor.model.dto.JfrRecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for on-demand JFR recordings
+ *
+ * Runs at most one bounded recording at a time: it stops by itself after the requested
+ * duration (capped by diagnostics.jfr.max-duration) and keeps at most
+ * diagnostics.jfr.max-size of data. The saga events from the diagnostics package are always
+ * enabled, on top of the JDK settings profile, and cost next to nothing while no recording is
+ * running. A stopped recording stays available for download until the next one starts.
+ * Events that capture the process environment, system properties or command line are
+ * always disabled, since those carry the database password, JWT secret and Dapr tokens.
+ */
+@Service
+@Slf4j
+public class JfrRecordingService {
+
+    private static final List<Class<? extends jdk.jfr.Event>> SAGA_EVENTS = List.of(
+        SagaEventReceivedEvent.class, SagaTransitionEvent.class, SagaRepositoryCallEvent.class,
+        DaprPublishEvent.class);
+
+    // Enabled in the JDK profiles; their payloads include credentials passed via env or -D
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+        "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final String settings;
+    private Recording recording;
+
+    public JfrRecordingService(@Value("${diagnostics.jfr.max-duration:15m}") Duration maxDuration,
+                               @Value("${diagnostics.jfr.max-size:100MB}") DataSize maxSize,
+                               @Value("${diagnostics.jfr.settings:default}") String settings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    /**
+     * Start a recording
+     *
+     * @param duration how long to record, capped by the configured maximum; null for the maximum
+     * @return the new recording, or empty when one is already running
+     */
+    public synchronized Optional<JfrRecordingStatus> start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return Optional.empty();
+        }
+        if (duration != null && (duration.isZero() || duration.isNegative())) {
+            throw new InvalidRequestException("duration must be positive");
+        }
+        closeRecording();
+
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + settings, e);
+        }
+        next.setName("order-processor-diagnostics");
+        next.setToDisk(true);
+        next.setMaxSize(maxSize.toBytes());
+        next.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        SAGA_EVENTS.forEach(event -> next.enable(event).withoutThreshold());
+        SENSITIVE_EVENTS.forEach(next::disable);
+        next.start();
+        recording = next;
+        log.info("Started JFR recording {} for {}", next.getId(), next.getDuration());
+        return Optional.of(toStatus(next));
+    }
+
+    /**
+     * Stop the current recording, keeping its data for download
+     */
+    public synchronized Optional<JfrRecordingStatus> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", recording.getId());
+        }
+        return Optional.of(toStatus(recording));
+    }
+
+    public synchronized Optional<JfrRecordingStatus> getStatus() {
+        return Optional.ofNullable(recording).map(this::toStatus);
+    }
+
+    /**
+     * Write the recording's data so far to a temporary file, which the caller deletes
+     */
+    public synchronized Optional<Path> dump() throws IOException {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile("order-processor-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return Optional.of(file);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private JfrRecordingStatus toStatus(Recording recording) {
+        return new JfrRecordingStatus(
+            recording.getId(),
+            recording.getState().name(),
+            settings,
+            recording.getStartTime(),
+            recording.getStopTime(),
+            recording.getDuration(),
+            recording.getMaxSize(),
+            recording.getSize());
+    }
+}
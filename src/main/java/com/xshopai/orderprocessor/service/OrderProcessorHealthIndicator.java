@@ -1,79 +1,198 @@
 package com.xshopai.orderprocessor.service;
 
+import com.xshopai.orderprocessor.config.WorkloadRoutingDataSource;
 import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
-import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
-import lombok.RequiredArgsConstructor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Custom health check service for order processor
+ * Order processor health, reported as the "orderProcessor" actuator health component
+ *
+ * Probes are answered from a snapshot that a background thread refreshes on a fixed cadence,
+ * so health requests never touch the database or the sidecar themselves. The snapshot covers
+ * saga counts (from SagaStatusCounters), pool saturation, and database and Dapr sidecar
+ * reachability as last probed by ReadinessMonitor. A snapshot older than the max age is reported DOWN, since it means
+ * the refresher itself is stuck.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-public class OrderProcessorHealthIndicator {
+public class OrderProcessorHealthIndicator implements HealthIndicator {
 
-    private final OrderProcessingSagaRepository sagaRepository;
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    // In admin-driven workflow, active means awaiting admin action
+    private static final List<OrderProcessingSaga.SagaStatus> ACTIVE_STATUSES = List.of(
+        OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION,
+        OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED,
+        OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
+    );
+
+    private static final List<OrderProcessingSaga.SagaStatus> AWAITING_STATUSES = List.of(
+        OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION,
+        OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
+    );
+
+    private final SagaStatusCounters statusCounters;
+    private final DataSource dataSource;
+    private final ReadinessMonitor readinessMonitor;
+    private final Duration refreshInterval;
+    private final Duration maxAge;
+    private final ScheduledExecutorService refresher;
+
+    private volatile Health snapshot = Health.unknown().withDetail("reason", "Health snapshot not taken yet").build();
+    private volatile Instant snapshotTakenAt;
+
+    public OrderProcessorHealthIndicator(SagaStatusCounters statusCounters, DataSource dataSource,
+                                         ReadinessMonitor readinessMonitor,
+                                         @Value("${management.health.order-processor.refresh-interval:10s}") Duration refreshInterval,
+                                         @Value("${management.health.order-processor.max-age:30s}") Duration maxAge) {
+        this.statusCounters = statusCounters;
+        this.dataSource = dataSource;
+        this.readinessMonitor = readinessMonitor;
+        this.refreshInterval = refreshInterval;
+        this.maxAge = maxAge;
+        // Own thread rather than @Scheduled, so slow scheduled jobs can't make the snapshot stale
+        this.refresher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("health-snapshot-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Health health() {
+        Instant takenAt = snapshotTakenAt;
+        if (takenAt != null && takenAt.isBefore(Instant.now().minus(maxAge))) {
+            return Health.down()
+                    .withDetail("reason", "Health snapshot is stale")
+                    .withDetail("snapshotTakenAt", takenAt)
+                    .build();
+        }
+        return snapshot;
+    }
 
     /**
-     * Get health status of the order processor
+     * Take a new snapshot; never throws, so the refresher keeps running
      */
-    public Map<String, Object> getHealthStatus() {
+    void refresh() {
         try {
-            Map<String, Object> details = new HashMap<>();
-            
-            // Check saga statistics
-            long totalSagas = sagaRepository.count();
-            // In admin-driven workflow, active means awaiting admin action
-            long activeSagas = sagaRepository.countByStatusIn(List.of(
-                OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION,
-                OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED,
-                OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
-            ));
-            long cancelledSagas = sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CANCELLED);
-            long completedSagas = sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
-            
-            details.put("totalSagas", totalSagas);
-            details.put("activeSagas", activeSagas);
-            details.put("cancelledSagas", cancelledSagas);
-            details.put("completedSagas", completedSagas);
-            
-            // Check for sagas awaiting admin action for extended period
-            LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(30);
-            List<OrderProcessingSaga.SagaStatus> awaitingStatuses = List.of(
-                OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION,
-                OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
-            );
-            
-            long stuckSagas = sagaRepository.countStuckSagas(awaitingStatuses, cutoffTime);
-            details.put("stuckSagas", stuckSagas);
-            
-            // Determine health status
-            if (stuckSagas > 10) {
-                details.put("status", "DOWN");
-                details.put("reason", "Too many stuck sagas");
-            } else if (stuckSagas > 5) {
-                details.put("status", "DEGRADED");
-                details.put("reason", "Some sagas are stuck");
-            } else {
-                details.put("status", "UP");
-                details.put("reason", "All systems operational");
-            }
-            
-            return details;
-            
+            snapshot = takeSnapshot();
         } catch (Exception e) {
             log.error("Health check failed", e);
-            Map<String, Object> errorDetails = new HashMap<>();
-            errorDetails.put("status", "DOWN");
-            errorDetails.put("reason", "Health check failed: " + e.getMessage());
-            return errorDetails;
+            snapshot = Health.down().withDetail("reason", "Health check failed: " + e.getMessage()).build();
+        }
+        snapshotTakenAt = Instant.now();
+    }
+
+    private Health takeSnapshot() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        Status status = Status.UP;
+        String reason = "All systems operational";
+
+        // Saga statistics
+        details.put("totalSagas", statusCounters.total());
+        details.put("activeSagas", statusCounters.sum(ACTIVE_STATUSES));
+        details.put("cancelledSagas", statusCounters.get(OrderProcessingSaga.SagaStatus.CANCELLED));
+        details.put("completedSagas", statusCounters.get(OrderProcessingSaga.SagaStatus.COMPLETED));
+        details.put("countersReconciledAt", statusCounters.getLastReconciledAt());
+
+        // Sagas awaiting admin action for an extended period
+        long stuckSagas = statusCounters.stuck(AWAITING_STATUSES);
+        details.put("stuckSagas", stuckSagas);
+        if (stuckSagas > 10) {
+            status = Status.DOWN;
+            reason = "Too many stuck sagas";
+        } else if (stuckSagas > 5) {
+            status = DEGRADED;
+            reason = "Some sagas are stuck";
+        }
+
+        // Connection pools
+        Map<String, Object> pools = poolDetails();
+        details.put("pools", pools);
+        boolean saturated = pools.values().stream()
+                .anyMatch(pool -> Boolean.TRUE.equals(((Map<?, ?>) pool).get("saturated")));
+        if (saturated && status == Status.UP) {
+            status = DEGRADED;
+            reason = "Connection pool saturated";
+        }
+
+        // Database and sidecar reachability
+        Map<String, ReadinessMonitor.Check> checks = readinessMonitor.getState().checks();
+        ReadinessMonitor.Check database = checks.get(ReadinessMonitor.DATABASE);
+        ReadinessMonitor.Check sidecar = checks.get(ReadinessMonitor.DAPR_SIDECAR);
+        details.put("database", describe(database));
+        details.put("daprSidecar", describe(sidecar));
+        if (database != null && !database.ok()) {
+            status = Status.DOWN;
+            reason = "Database unreachable";
+        } else if (sidecar != null && !sidecar.ok()) {
+            status = Status.DOWN;
+            reason = "Dapr sidecar unreachable";
+        }
+
+        details.put("reason", reason);
+        return Health.status(status).withDetails(details).build();
+    }
+
+    private Map<String, Object> poolDetails() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        try {
+            if (!dataSource.isWrapperFor(WorkloadRoutingDataSource.class)) {
+                return pools;
+            }
+            Map<String, HikariDataSource> byName = dataSource.unwrap(WorkloadRoutingDataSource.class).getPools();
+            byName.forEach((name, pool) -> {
+                HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+                if (poolBean == null) {
+                    return; // pool not started yet
+                }
+                int max = pool.getHikariConfigMXBean().getMaximumPoolSize();
+                int active = poolBean.getActiveConnections();
+                int waiting = poolBean.getThreadsAwaitingConnection();
+                pools.put(name, Map.of(
+                    "active", active,
+                    "max", max,
+                    "waiting", waiting,
+                    "saturated", active >= max && waiting > 0
+                ));
+            });
+        } catch (SQLException e) {
+            log.debug("Could not read connection pool state: {}", e.getMessage());
+        }
+        return pools;
+    }
+
+    private static String describe(ReadinessMonitor.Check check) {
+        if (check == null) {
+            return "UNKNOWN";
         }
+        return check.ok() ? "UP" : "DOWN: " + check.detail();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
     }
 }
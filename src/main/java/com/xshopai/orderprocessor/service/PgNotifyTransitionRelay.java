@@ -0,0 +1,206 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xshopai.orderprocessor.config.WorkloadRoutingDataSource;
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares saga transitions between replicas through Postgres LISTEN/NOTIFY
+ *
+ * Transitions committed on this instance are batched into pg_notify calls on the
+ * saga_transitions channel. A listener thread holds one dedicated, unpooled connection, so it
+ * never takes a slot from the background pool, and applies transitions from other instances to
+ * SagaStatusCounters and the admin live feed.
+ * Subscribers are resynced from a snapshot after the listener reconnects, since notifications
+ * sent while it was disconnected are lost; the scheduled counter reconcile corrects the counts.
+ */
+@Component
+@ConditionalOnProperty(name = "saga.stream.notify.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PgNotifyTransitionRelay {
+
+    static final String CHANNEL = "saga_transitions";
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify('" + CHANNEL + "', payload) FROM unnest(?) AS payload";
+    private static final int OUTBOX_CAPACITY = 10_000;
+    private static final int MAX_BATCH = 500;
+    private static final long POLL_TIMEOUT_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final SagaStatusCounters statusCounters;
+    private final SagaTransitionBroadcaster broadcaster;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final BlockingQueue<SagaTransition> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public PgNotifyTransitionRelay(DataSource dataSource, ObjectMapper objectMapper,
+                                   SagaStatusCounters statusCounters, SagaTransitionBroadcaster broadcaster) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.statusCounters = statusCounters;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * NOTIFY payload; origin lets instances skip their own transitions
+     */
+    record Envelope(String origin, SagaTransition transition) {
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("saga-transition-relay-"));
+        executor.submit(this::notifyLoop);
+        executor.submit(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onTransition(SagaTransition transition) {
+        if (!outbox.offer(transition)) {
+            log.warn("Saga transition relay outbox full, other instances will catch up on reconcile");
+        }
+    }
+
+    private void notifyLoop() {
+        List<SagaTransition> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                SagaTransition first = outbox.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbox.drainTo(batch, MAX_BATCH - 1);
+                publish(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException e) {
+                log.warn("Failed to publish {} saga transitions to other instances: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publish(List<SagaTransition> batch) throws SQLException {
+        String[] payloads = new String[batch.size()];
+        for (int i = 0; i < payloads.length; i++) {
+            try {
+                payloads[i] = objectMapper.writeValueAsString(new Envelope(instanceId, batch.get(i)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Saga transition is not serializable", e);
+            }
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+            Array array = connection.createArrayOf("text", payloads);
+            statement.setArray(1, array);
+            statement.executeQuery().close();
+            array.free();
+        }
+    }
+
+    private void listenLoop() {
+        long backoffMs = POLL_TIMEOUT_MS;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for saga transitions from other instances on channel {}", CHANNEL);
+                if (reconnecting) {
+                    broadcaster.resyncAll();
+                }
+                backoffMs = POLL_TIMEOUT_MS;
+                reconnecting = true;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN " + CHANNEL);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Saga transition listener disconnected, retrying in {}ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Connection for the LISTEN session, outside the pools when the routing DataSource is in use
+     */
+    Connection openListenConnection() throws SQLException {
+        if (dataSource.isWrapperFor(WorkloadRoutingDataSource.class)) {
+            return dataSource.unwrap(WorkloadRoutingDataSource.class).openDedicatedConnection();
+        }
+        return dataSource.getConnection();
+    }
+
+    void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (instanceId.equals(envelope.origin())) {
+                return;
+            }
+            SagaTransition transition = envelope.transition();
+            statusCounters.recordTransition(transition.from(), transition.to());
+            broadcaster.deliver(transition);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed saga transition notification: {}", e.getOriginalMessage());
+        }
+    }
+}
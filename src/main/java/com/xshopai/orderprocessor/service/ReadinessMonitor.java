@@ -0,0 +1,247 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import com.xshopai.orderprocessor.config.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.DaprMetadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background dependency probes that decide whether this instance should receive traffic
+ *
+ * Checks database validity (through the admin pool, so a saturated ingestion pool can't time out
+ * the probe itself), ingestion pool wait, Dapr sidecar health, the pub/sub component in the sidecar metadata and
+ * warmup (application started and status counters seeded). Probes run on a fixed interval;
+ * readiness endpoints only read the last result. Changes are published as ReadinessState
+ * availability events, so /actuator/health/readiness follows the same result.
+ *
+ * The pool wait check fails when connection acquisition on the ingestion pool averaged more
+ * than the threshold over the last interval, when threads are waiting for a connection but no
+ * acquisition completed since the last probe (a stalled pool), or when more threads than
+ * readiness.max-pool-pending are waiting. The instance then sheds new deliveries before its
+ * pool collapses.
+ */
+@Component
+@Slf4j
+public class ReadinessMonitor {
+
+    public static final String DATABASE = "database";
+    public static final String POOL_WAIT = "databasePoolWait";
+    public static final String DAPR_SIDECAR = "daprSidecar";
+    public static final String DAPR_METADATA = "daprMetadata";
+    public static final String WARMUP = "warmup";
+
+    private static final int DB_VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Result of one dependency check
+     */
+    public record Check(boolean ok, String detail) {
+    }
+
+    /**
+     * Result of the latest probe round
+     */
+    public record State(boolean ready, Map<String, Check> checks, Instant checkedAt) {
+    }
+
+    private final DataSource dataSource;
+    private final DaprClient daprClient;
+    private final MeterRegistry meterRegistry;
+    private final SagaStatusCounters statusCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService prober;
+
+    @Value("${readiness.probe-interval:5s}")
+    private Duration probeInterval;
+
+    @Value("${readiness.probe-timeout:2s}")
+    private Duration probeTimeout;
+
+    @Value("${readiness.max-pool-wait:500ms}")
+    private Duration maxPoolWait;
+
+    @Value("${readiness.max-pool-pending:10}")
+    private int maxPoolPending;
+
+    @Value("${dapr.pubsub-name:pubsub}")
+    private String pubsubName;
+
+    private volatile State state = new State(false, Map.of(WARMUP, new Check(false, "not probed yet")), Instant.now());
+    private volatile boolean applicationStarted;
+    private long lastAcquireCount;
+    private double lastAcquireTotalMs;
+
+    public ReadinessMonitor(DataSource dataSource, DaprClient daprClient, MeterRegistry meterRegistry,
+                            SagaStatusCounters statusCounters, ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.daprClient = daprClient;
+        this.meterRegistry = meterRegistry;
+        this.statusCounters = statusCounters;
+        this.eventPublisher = eventPublisher;
+        this.prober = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("readiness-probe-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        prober.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prober.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        applicationStarted = true;
+        // Spring reports ACCEPTING_TRAFFIC on startup; re-probe right away so that is corrected if needed
+        prober.execute(this::probe);
+    }
+
+    /**
+     * Latest probe result; probe rounds older than three intervals count as not ready
+     */
+    public State getState() {
+        State current = state;
+        if (current.checkedAt().isBefore(Instant.now().minus(probeInterval.multipliedBy(3)))) {
+            return new State(false, current.checks(), current.checkedAt());
+        }
+        return current;
+    }
+
+    /**
+     * Run all checks and publish a readiness change if the outcome flipped
+     */
+    synchronized void probe() {
+        Map<String, Check> checks = new LinkedHashMap<>();
+        try {
+            checks.put(DATABASE, checkDatabase());
+            checks.put(POOL_WAIT, checkPoolWait());
+            checks.put(DAPR_SIDECAR, checkSidecar());
+            checks.put(DAPR_METADATA, checkMetadata());
+            checks.put(WARMUP, checkWarmup());
+        } catch (Exception e) {
+            log.error("Readiness probe failed", e);
+            checks.put("probe", new Check(false, e.getMessage()));
+        }
+
+        boolean ready = checks.values().stream().allMatch(Check::ok);
+        boolean wasReady = state.ready();
+        state = new State(ready, Map.copyOf(checks), Instant.now());
+
+        if (ready != wasReady) {
+            if (ready) {
+                log.info("Instance ready to accept traffic");
+            } else {
+                log.warn("Instance not ready, refusing traffic: {}", checks);
+            }
+            AvailabilityChangeEvent.publish(eventPublisher, this,
+                    ready ? ReadinessState.ACCEPTING_TRAFFIC : ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    private Check checkDatabase() {
+        DatabaseWorkload previous = DatabaseWorkload.enter(DatabaseWorkload.ADMIN);
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(DB_VALIDATION_TIMEOUT_SECONDS)
+                    ? new Check(true, "connected")
+                    : new Check(false, "connection validation failed");
+        } catch (SQLException e) {
+            return new Check(false, e.getMessage());
+        } finally {
+            DatabaseWorkload.restore(previous);
+        }
+    }
+
+    private Check checkPoolWait() throws SQLException {
+        String poolName = DatabaseWorkload.INGESTION.getPoolName();
+        int waiting = 0;
+        if (dataSource.isWrapperFor(WorkloadRoutingDataSource.class)) {
+            HikariDataSource pool = dataSource.unwrap(WorkloadRoutingDataSource.class).getPools().get(poolName);
+            HikariPoolMXBean poolBean = pool != null ? pool.getHikariPoolMXBean() : null;
+            waiting = poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0;
+        }
+
+        double meanWaitMs = 0;
+        long completed = 0;
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (acquire != null) {
+            long count = acquire.count();
+            double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+            completed = count - lastAcquireCount;
+            if (completed > 0) {
+                meanWaitMs = (totalMs - lastAcquireTotalMs) / completed;
+            }
+            lastAcquireCount = count;
+            lastAcquireTotalMs = totalMs;
+        }
+
+        String detail = String.format("mean wait %.1fms, %d waiting", meanWaitMs, waiting);
+        if (waiting > 0 && completed <= 0) {
+            // Nothing completes while the pool is stalled, so the mean wait alone would stay at 0ms
+            return new Check(false, detail + ", no acquisitions since last probe");
+        }
+        if (waiting > maxPoolPending) {
+            return new Check(false, detail + ", more than " + maxPoolPending + " waiting");
+        }
+        return new Check(meanWaitMs <= maxPoolWait.toMillis(), detail);
+    }
+
+    private Check checkSidecar() {
+        try {
+            daprClient.waitForSidecar((int) probeTimeout.toMillis()).block(probeTimeout.plusSeconds(1));
+            return new Check(true, "healthy");
+        } catch (Exception e) {
+            return new Check(false, e.getMessage());
+        }
+    }
+
+    private Check checkMetadata() {
+        try {
+            DaprMetadata metadata = daprClient.getMetadata().block(probeTimeout);
+            boolean hasPubsub = metadata != null && metadata.getComponents() != null
+                    && metadata.getComponents().stream().anyMatch(c -> pubsubName.equals(c.getName()));
+            return hasPubsub
+                    ? new Check(true, "pubsub component " + pubsubName + " loaded")
+                    : new Check(false, "pubsub component " + pubsubName + " not loaded");
+        } catch (Exception e) {
+            return new Check(false, e.getMessage());
+        }
+    }
+
+    private Check checkWarmup() {
+        if (!applicationStarted) {
+            return new Check(false, "application starting");
+        }
+        if (statusCounters.getLastReconciledAt() == null) {
+            return new Check(false, "status counters not seeded");
+        }
+        return new Check(true, "complete");
+    }
+}
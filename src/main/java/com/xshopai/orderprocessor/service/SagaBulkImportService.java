@@ -0,0 +1,458 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.xshopai.orderprocessor.exception.SagaProcessingException;
+import com.xshopai.orderprocessor.logging.TraceContext;
+import com.xshopai.orderprocessor.model.events.OrderCreatedEvent;
+import com.xshopai.orderprocessor.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk saga import (backfill) pipeline
+ *
+ * Streams an NDJSON file of OrderCreatedEvents into order_processing_saga without going
+ * through startOrderProcessingSaga row by row:
+ *
+ *   reader thread -> bounded parallel parse/encode pool -> single COPY writer
+ *
+ * Rows are COPYed into a temporary staging table and merged per chunk with
+ * INSERT ... ON CONFLICT (order_id) DO NOTHING, so duplicates inside the file and sagas
+ * that already exist are skipped and a re-run of the same file is idempotent.
+ * Sagas are created in the same state as startOrderProcessingSaga creates them.
+ */
+@Service
+@Slf4j
+public class SagaBulkImportService {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS saga_import_staging (
+                order_id UUID,
+                order_number VARCHAR(50),
+                customer_id VARCHAR(255),
+                total_amount DECIMAL(19, 2),
+                currency VARCHAR(3),
+                order_items JSONB,
+                shipping_address JSONB,
+                billing_address JSONB,
+                correlation_id VARCHAR(255),
+                created_at TIMESTAMP
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_SQL = """
+            COPY saga_import_staging (order_id, order_number, customer_id, total_amount, currency,
+                order_items, shipping_address, billing_address, correlation_id, created_at)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String MERGE_SQL = """
+            INSERT INTO order_processing_saga (order_id, order_number, customer_id, total_amount, currency,
+                status, current_step, order_items, shipping_address, billing_address, correlation_id,
+                created_at, updated_at, payment_processing_started_at)
+            SELECT DISTINCT ON (order_id) order_id, order_number, customer_id, total_amount, currency,
+                'PENDING_PAYMENT_CONFIRMATION', 'AWAITING_PAYMENT', order_items, shipping_address, billing_address,
+                correlation_id, created_at, CURRENT_TIMESTAMP, created_at
+            FROM saga_import_staging
+            ORDER BY order_id
+            ON CONFLICT (order_id) DO NOTHING
+            """;
+
+    private static final String DROP_STAGING_SQL = "DROP TABLE IF EXISTS saga_import_staging";
+
+    /** Number of NDJSON lines handed to a parse worker at once */
+    private static final int PARSE_BATCH_LINES = 1000;
+
+    /** Maximum number of rejected lines logged individually */
+    private static final int MAX_LOGGED_REJECTIONS = 10;
+
+    /** Marker closing the encoded batch queue (compared by identity) */
+    private static final EncodedBatch END_OF_INPUT = new EncodedBatch(new byte[0], 0);
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader eventReader;
+    private final SagaStatusCounters statusCounters;
+
+    @Value("${saga.import.parallelism:0}")
+    private int configuredParallelism;
+
+    @Value("${saga.import.chunk-size:50000}")
+    private int chunkSize;
+
+    @Value("${saga.import.progress-interval:100000}")
+    private long progressInterval;
+
+    public SagaBulkImportService(DataSource dataSource, ObjectMapper objectMapper, SagaStatusCounters statusCounters) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.eventReader = objectMapper.readerFor(OrderCreatedEvent.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.statusCounters = statusCounters;
+    }
+
+    /**
+     * Import all OrderCreatedEvents from an NDJSON file (one JSON document per line)
+     */
+    public ImportResult importFile(Path file) {
+        if (!Files.isReadable(file)) {
+            throw new SagaProcessingException("Import file is not readable: " + file);
+        }
+
+        int parallelism = configuredParallelism > 0
+                ? configuredParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        log.info("Starting bulk saga import from {} (parallelism={}, chunkSize={})", file, parallelism, chunkSize);
+
+        Progress progress = new Progress(System.nanoTime());
+        BlockingQueue<EncodedBatch> encoded = new ArrayBlockingQueue<>(parallelism * 4);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // Bounded queue + CallerRunsPolicy: when all workers are busy the reader parses
+        // the next batch itself, which throttles reading to the speed of the pipeline
+        ThreadPoolExecutor parsePool = new ThreadPoolExecutor(
+                parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                TraceContext.propagating(new CustomizableThreadFactory("saga-import-parse-")),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Thread reader = new Thread(TraceContext.wrap(
+                () -> readAndDispatch(file, parsePool, encoded, progress, failure)), "saga-import-reader");
+        reader.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                copyChunks(connection, encoded, progress, failure);
+            } finally {
+                dropStagingTable(connection);
+            }
+        } catch (SQLException e) {
+            throw new SagaProcessingException("Bulk saga import failed after " + progress.rowsInserted.sum()
+                    + " inserted rows", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SagaProcessingException("Bulk saga import interrupted", e);
+        } finally {
+            parsePool.shutdownNow();
+            reader.interrupt();
+        }
+
+        Throwable readFailure = failure.get();
+        if (readFailure != null) {
+            throw new SagaProcessingException("Bulk saga import failed while reading " + file, readFailure);
+        }
+
+        ImportResult result = progress.toResult();
+        log.info("Bulk saga import finished: {} lines, {} inserted, {} duplicates skipped, {} rejected in {}s ({} rows/min)",
+                result.linesRead(), result.rowsInserted(), result.duplicatesSkipped(), result.rowsRejected(),
+                result.elapsed().toSeconds(), result.rowsPerMinute());
+
+        // Imported rows bypass the entity listener, reconcile the status counters once instead
+        statusCounters.reconcile();
+        return result;
+    }
+
+    /**
+     * Reader stage: split the file into line batches and hand them to the parse pool
+     * Always ends the queue, so the writer stops even when reading fails or is interrupted.
+     */
+    private void readAndDispatch(Path file, ThreadPoolExecutor parsePool, BlockingQueue<EncodedBatch> encoded,
+                                 Progress progress, AtomicReference<Throwable> failure) {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> batch = new ArrayList<>(PARSE_BATCH_LINES);
+            String line;
+            while ((line = in.readLine()) != null && failure.get() == null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.linesRead.increment();
+                batch.add(line);
+                if (batch.size() == PARSE_BATCH_LINES) {
+                    List<String> lines = batch;
+                    parsePool.execute(() -> parseBatch(lines, encoded, progress, failure));
+                    batch = new ArrayList<>(PARSE_BATCH_LINES);
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                List<String> lines = batch;
+                parsePool.execute(() -> parseBatch(lines, encoded, progress, failure));
+            }
+            parsePool.shutdown();
+            parsePool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            endInput(encoded, failure);
+        }
+    }
+
+    /**
+     * Put the end marker on the queue. When the import has failed, queued rows are dropped to
+     * make room, since the writer rolls back its open chunk anyway.
+     */
+    private static void endInput(BlockingQueue<EncodedBatch> encoded, AtomicReference<Throwable> failure) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (!encoded.offer(END_OF_INPUT)) {
+                if (interrupted || failure.get() != null) {
+                    encoded.poll();
+                    continue;
+                }
+                try {
+                    encoded.put(END_OF_INPUT);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parse stage: deserialize a batch of lines and encode valid events as COPY CSV rows
+     * Malformed lines are rejected and counted; anything else failing aborts the import.
+     */
+    private void parseBatch(List<String> lines, BlockingQueue<EncodedBatch> encoded,
+                            Progress progress, AtomicReference<Throwable> failure) {
+        try {
+            StringBuilder rows = new StringBuilder(lines.size() * 512);
+            int rowCount = 0;
+
+            for (String line : lines) {
+                try {
+                    OrderCreatedEvent event = eventReader.readValue(line);
+                    String rejection = validate(event);
+                    if (rejection != null) {
+                        progress.reject(rejection);
+                        continue;
+                    }
+                    appendRow(rows, event);
+                    rowCount++;
+                } catch (JsonProcessingException e) {
+                    progress.reject("Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+
+            if (rowCount > 0 && failure.get() == null) {
+                encoded.put(new EncodedBatch(rows.toString().getBytes(StandardCharsets.UTF_8), rowCount));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Writer stage: stream encoded rows into COPY and merge into the saga table per chunk
+     */
+    private void copyChunks(Connection connection, BlockingQueue<EncodedBatch> encoded,
+                            Progress progress, AtomicReference<Throwable> failure)
+            throws SQLException, InterruptedException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_SQL);
+        }
+
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        CopyIn copyIn = null;
+        long rowsInChunk = 0;
+
+        try {
+            while (true) {
+                EncodedBatch batch = encoded.take();
+                if (batch == END_OF_INPUT) {
+                    break;
+                }
+                if (copyIn == null) {
+                    copyIn = copyManager.copyIn(COPY_SQL);
+                }
+                copyIn.writeToCopy(batch.data(), 0, batch.data().length);
+                rowsInChunk += batch.rows();
+                progress.rowsParsed.add(batch.rows());
+
+                if (rowsInChunk >= chunkSize) {
+                    mergeChunk(connection, copyIn, progress);
+                    copyIn = null;
+                    rowsInChunk = 0;
+                }
+                progress.maybeReport(progressInterval);
+            }
+
+            if (copyIn != null && failure.get() == null) {
+                mergeChunk(connection, copyIn, progress);
+                copyIn = null;
+            }
+        } finally {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            if (copyIn != null || failure.get() != null) {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void mergeChunk(Connection connection, CopyIn copyIn, Progress progress) throws SQLException {
+        copyIn.endCopy();
+        try (Statement statement = connection.createStatement()) {
+            int inserted = statement.executeUpdate(MERGE_SQL);
+            progress.rowsInserted.add(inserted);
+        }
+        // ON COMMIT DELETE ROWS empties the staging table for the next chunk
+        connection.commit();
+    }
+
+    private void dropStagingTable(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(DROP_STAGING_SQL);
+            connection.commit();
+        } catch (SQLException e) {
+            log.warn("Failed to drop import staging table: {}", e.getMessage());
+        }
+    }
+
+    private String validate(OrderCreatedEvent event) {
+        if (event == null) {
+            return "Empty event";
+        }
+        if (event.getOrderId() == null) {
+            return "Missing orderId";
+        }
+        if (event.getCustomerId() == null || event.getOrderNumber() == null || event.getTotalAmount() == null) {
+            return "Missing required field for order " + event.getOrderId();
+        }
+        return null;
+    }
+
+    private void appendRow(StringBuilder rows, OrderCreatedEvent event) throws JsonProcessingException {
+        LocalDateTime createdAt = event.getCreatedAt() != null
+                ? event.getCreatedAt().atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : LocalDateTime.now();
+
+        CsvUtils.appendField(rows, event.getOrderId(), true);
+        CsvUtils.appendField(rows, event.getOrderNumber(), false);
+        CsvUtils.appendField(rows, event.getCustomerId(), false);
+        CsvUtils.appendField(rows, event.getTotalAmount().toPlainString(), false);
+        CsvUtils.appendField(rows, event.getCurrency() != null ? event.getCurrency() : "USD", false);
+        CsvUtils.appendField(rows, toJson(event.getItems() != null && !event.getItems().isEmpty() ? event.getItems() : null), false);
+        CsvUtils.appendField(rows, toJson(event.getShippingAddress()), false);
+        CsvUtils.appendField(rows, toJson(event.getBillingAddress()), false);
+        CsvUtils.appendField(rows, event.getCorrelationId(), false);
+        CsvUtils.appendField(rows, createdAt, false);
+        CsvUtils.endRow(rows);
+    }
+
+    private String toJson(Object value) throws JsonProcessingException {
+        return value != null ? objectMapper.writeValueAsString(value) : null;
+    }
+
+    /**
+     * Outcome of a bulk import run
+     */
+    public record ImportResult(
+        long linesRead,
+        long rowsParsed,
+        long rowsRejected,
+        long rowsInserted,
+        Duration elapsed
+    ) {
+        public long duplicatesSkipped() {
+            return rowsParsed - rowsInserted;
+        }
+
+        public long rowsPerMinute() {
+            long millis = Math.max(1, elapsed.toMillis());
+            return rowsParsed * 60_000 / millis;
+        }
+    }
+
+    /**
+     * Rows encoded by one parse task, ready to be written to COPY
+     */
+    private record EncodedBatch(byte[] data, int rows) {
+    }
+
+    /**
+     * Shared progress counters, updated concurrently by the pipeline stages
+     */
+    private static final class Progress {
+        private final long startNanos;
+        private final LongAdder linesRead = new LongAdder();
+        private final LongAdder rowsParsed = new LongAdder();
+        private final LongAdder rowsRejected = new LongAdder();
+        private final LongAdder rowsInserted = new LongAdder();
+        private long nextReportAt;
+
+        private Progress(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private void reject(String reason) {
+            rowsRejected.increment();
+            if (rowsRejected.sum() <= MAX_LOGGED_REJECTIONS) {
+                log.warn("Rejected import line: {}", reason);
+            }
+        }
+
+        /**
+         * Called from the writer thread only
+         */
+        private void maybeReport(long interval) {
+            long parsed = rowsParsed.sum();
+            if (parsed < nextReportAt) {
+                return;
+            }
+            nextReportAt = parsed + interval;
+            ImportResult snapshot = toResult();
+            log.info("Bulk saga import progress: {} lines read, {} rows copied, {} inserted, {} rejected ({} rows/min)",
+                    snapshot.linesRead(), snapshot.rowsParsed(), snapshot.rowsInserted(),
+                    snapshot.rowsRejected(), snapshot.rowsPerMinute());
+        }
+
+        private ImportResult toResult() {
+            return new ImportResult(
+                    linesRead.sum(),
+                    rowsParsed.sum(),
+                    rowsRejected.sum(),
+                    rowsInserted.sum(),
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
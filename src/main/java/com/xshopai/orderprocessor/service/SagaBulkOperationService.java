@@ -0,0 +1,296 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher;
+import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher.OutboundEvent;
+import com.xshopai.orderprocessor.exception.InvalidRequestException;
+import com.xshopai.orderprocessor.logging.TraceContext;
+import com.xshopai.orderprocessor.model.dto.BulkJobStatus;
+import com.xshopai.orderprocessor.model.dto.BulkJobStatus.State;
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk admin operations (mass confirm / cancel / compensate)
+ *
+ * Jobs run one at a time on a coordinator thread with a small bounded queue; further
+ * submissions are rejected. A job's target sagas are split into chunks that a bounded worker
+ * pool processes, one transaction per chunk, through SagaOrchestratorService.applyBulkAction.
+ * Compensation events of a chunk are published as one batch after the chunk commits.
+ *
+ * All workers share a rows-per-second limit so a large job cannot saturate the primary, and
+ * use the background connection pool. Progress is exposed through BulkJobStatus and finished
+ * jobs are kept for the configured retention.
+ */
+@Service
+@Slf4j
+public class SagaBulkOperationService {
+
+    private final OrderProcessingSagaRepository sagaRepository;
+    private final SagaQueryRepository sagaQueryRepository;
+    private final SagaOrchestratorService orchestratorService;
+    private final DaprEventPublisher daprEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, BulkJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor coordinator;
+    private final ThreadPoolExecutor workers;
+    private final RowRateLimiter rateLimiter;
+
+    @Value("${saga.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${saga.bulk.max-sagas:100000}")
+    private int maxSagas;
+
+    @Value("${saga.bulk.job-retention:1h}")
+    private Duration jobRetention;
+
+    public SagaBulkOperationService(OrderProcessingSagaRepository sagaRepository,
+                                    SagaQueryRepository sagaQueryRepository,
+                                    SagaOrchestratorService orchestratorService,
+                                    DaprEventPublisher daprEventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${saga.bulk.workers:4}") int workerCount,
+                                    @Value("${saga.bulk.max-queued-jobs:4}") int maxQueuedJobs,
+                                    @Value("${saga.bulk.max-rows-per-second:2000}") int maxRowsPerSecond) {
+        this.sagaRepository = sagaRepository;
+        this.sagaQueryRepository = sagaQueryRepository;
+        this.orchestratorService = orchestratorService;
+        this.daprEventPublisher = daprEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coordinator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), new CustomizableThreadFactory("saga-bulk-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Bounded queue + CallerRunsPolicy: when all workers are busy the coordinator processes
+        // the next chunk itself, so at most workers + queue + 1 chunks are in flight
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount), new CustomizableThreadFactory("saga-bulk-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.rateLimiter = new RowRateLimiter(maxRowsPerSecond);
+    }
+
+    /**
+     * Queue a bulk operation
+     *
+     * @return the queued job, or empty when the job queue is full
+     * @throws InvalidRequestException if the request is invalid
+     */
+    public Optional<BulkJobStatus> submit(BulkOperationRequest request) {
+        validate(request);
+        pruneFinishedJobs();
+
+        BulkJob job = new BulkJob(UUID.randomUUID(), request);
+        jobs.put(job.id, job);
+        try {
+            coordinator.execute(TraceContext.wrap(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            return Optional.empty();
+        }
+        log.info("Queued bulk {} job {}", request.action(), job.id);
+        return Optional.of(job.toStatus());
+    }
+
+    public Optional<BulkJobStatus> getJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(BulkJob::toStatus);
+    }
+
+    /**
+     * Stop a job after the chunks already in flight; committed chunks are not rolled back
+     */
+    public Optional<BulkJobStatus> cancel(UUID jobId) {
+        BulkJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelRequested = true;
+        log.info("Cancellation requested for bulk job {}", jobId);
+        return Optional.of(job.toStatus());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void validate(BulkOperationRequest request) {
+        if (request.action() == null) {
+            throw new InvalidRequestException("action is required");
+        }
+        boolean hasIds = request.sagaIds() != null && !request.sagaIds().isEmpty();
+        boolean hasFilter = request.filter() != null
+                && !request.filter().equals(new SagaSearchCriteria(null, null, null, null, null, null));
+        if (hasIds == hasFilter) {
+            throw new InvalidRequestException("Exactly one of sagaIds or a non-empty filter is required");
+        }
+        if (hasIds && request.sagaIds().size() > maxSagas) {
+            throw new InvalidRequestException("At most " + maxSagas + " sagas per bulk operation");
+        }
+    }
+
+    private void run(BulkJob job) {
+        job.state = State.RUNNING;
+        job.startedAt = Instant.now();
+        try {
+            List<UUID> targets = resolveTargets(job.request);
+            job.total = targets.size();
+            log.info("Bulk {} job {} started for {} sagas", job.request.action(), job.id, job.total);
+
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < targets.size() && !job.cancelRequested; from += chunkSize) {
+                List<UUID> chunk = targets.subList(from, Math.min(from + chunkSize, targets.size()));
+                chunks.add(CompletableFuture.runAsync(TraceContext.wrap(() -> processChunk(job, chunk)), workers));
+            }
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+            job.state = job.cancelRequested ? State.CANCELLED : State.COMPLETED;
+        } catch (Exception e) {
+            log.error("Bulk job {} failed: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            log.info("Bulk {} job {} {}: {} succeeded, {} skipped, {} failed, {} events published",
+                    job.request.action(), job.id, job.state, job.succeeded.sum(), job.skipped.sum(),
+                    job.failed.sum(), job.eventsPublished.sum());
+        }
+    }
+
+    private List<UUID> resolveTargets(BulkOperationRequest request) {
+        if (request.sagaIds() != null && !request.sagaIds().isEmpty()) {
+            return List.copyOf(request.sagaIds());
+        }
+        List<UUID> ids = sagaQueryRepository.findIds(request.filter(), maxSagas + 1);
+        if (ids.size() > maxSagas) {
+            throw new IllegalArgumentException("Filter matches more than " + maxSagas + " sagas; narrow it down");
+        }
+        return ids;
+    }
+
+    private void processChunk(BulkJob job, List<UUID> sagaIds) {
+        if (job.cancelRequested) {
+            return;
+        }
+        try {
+            rateLimiter.acquire(sagaIds.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelRequested = true;
+            return;
+        }
+
+        List<OutboundEvent> events = new ArrayList<>();
+        List<OrderProcessingSaga> applied = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (OrderProcessingSaga saga : sagaRepository.findAllById(sagaIds)) {
+                    if (orchestratorService.applyBulkAction(saga, job.request.action(), job.request.reason(), events)) {
+                        applied.add(saga);
+                    }
+                }
+            });
+            // Only committed changes count towards the saga metrics
+            applied.forEach(saga -> orchestratorService.recordBulkAction(saga, job.request.action()));
+            job.succeeded.add(applied.size());
+            job.skipped.add(sagaIds.size() - applied.size());
+        } catch (RuntimeException e) {
+            log.warn("Bulk job {} chunk of {} sagas rolled back: {}", job.id, sagaIds.size(), e.getMessage());
+            job.failed.add(sagaIds.size());
+            events.clear();
+        } finally {
+            job.processed.add(sagaIds.size());
+        }
+
+        int eventsFailed = daprEventPublisher.publishEvents(events);
+        job.eventsPublished.add(events.size() - eventsFailed);
+        job.eventsFailed.add(eventsFailed);
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class BulkJob {
+
+        private final UUID id;
+        private final BulkOperationRequest request;
+        private final Instant submittedAt = Instant.now();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder eventsPublished = new LongAdder();
+        private final LongAdder eventsFailed = new LongAdder();
+
+        private volatile State state = State.QUEUED;
+        private volatile long total;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+        private volatile boolean cancelRequested;
+
+        BulkJob(UUID id, BulkOperationRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        BulkJobStatus toStatus() {
+            return new BulkJobStatus(id, request.action(), state, total, processed.sum(), succeeded.sum(),
+                    skipped.sum(), failed.sum(), eventsPublished.sum(), eventsFailed.sum(),
+                    submittedAt, startedAt, finishedAt, error);
+        }
+    }
+
+    /**
+     * Paces callers so that, across all of them, at most the given rows per second are admitted
+     */
+    static final class RowRateLimiter {
+
+        private final long nanosPerRow;
+        private long nextFreeNanos = System.nanoTime();
+
+        RowRateLimiter(int rowsPerSecond) {
+            this.nanosPerRow = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rowsPerSecond);
+        }
+
+        void acquire(int rows) throws InterruptedException {
+            long waitNanos = reserve(rows);
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        private synchronized long reserve(int rows) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + rows * nanosPerRow;
+            return start - now;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.dto.SagaSummary;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import com.xshopai.orderprocessor.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams saga exports for ops and finance
+ *
+ * Rows flow straight from the database cursor to the response stream, so memory use is
+ * bounded by the fetch size and output buffer rather than the number of rows exported.
+ */
+@Service
+@Slf4j
+public class SagaExportService {
+
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {
+        "id", "order_id", "order_number", "customer_id", "status", "current_step", "total_amount",
+        "currency", "error_message", "created_at", "updated_at", "completed_at"
+    };
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final SagaQueryRepository sagaQueryRepository;
+    private final ObjectWriter rowWriter;
+
+    public SagaExportService(SagaQueryRepository sagaQueryRepository, ObjectMapper objectMapper) {
+        this.sagaQueryRepository = sagaQueryRepository;
+        this.rowWriter = objectMapper.writerFor(SagaSummary.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write all sagas matching the criteria to the output stream
+     * Runs on the admin connection pool; the read-only transaction uses the replica when available
+     *
+     * @return number of sagas exported
+     */
+    public long export(SagaSearchCriteria criteria, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        DatabaseWorkload previous = DatabaseWorkload.enter(DatabaseWorkload.ADMIN);
+        try {
+            // The response stream itself is closed by the container
+            OutputStream target = gzip ? new GZIPOutputStream(out, OUTPUT_BUFFER_BYTES) : out;
+            long rows = switch (format) {
+                case NDJSON -> writeNdjson(criteria, target);
+                case CSV -> writeCsv(criteria, target);
+            };
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            target.flush();
+            log.info("Exported {} sagas as {}{} in {}ms", rows, format, gzip ? " (gzip)" : "",
+                System.currentTimeMillis() - startTime);
+            return rows;
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            log.warn("Saga export aborted: {}", e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            DatabaseWorkload.restore(previous);
+        }
+    }
+
+    private long writeNdjson(SagaSearchCriteria criteria, OutputStream out) throws IOException {
+        try (JsonGenerator generator = rowWriter.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return sagaQueryRepository.streamAll(criteria, summary -> {
+                try {
+                    rowWriter.writeValue(generator, summary);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private long writeCsv(SagaSearchCriteria criteria, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_BYTES);
+        StringBuilder row = new StringBuilder(256);
+        for (int i = 0; i < CSV_HEADER.length; i++) {
+            CsvUtils.appendField(row, CSV_HEADER[i], i == 0);
+        }
+        CsvUtils.endRow(row);
+        writer.write(row.toString());
+
+        long rows = sagaQueryRepository.streamAll(criteria, summary -> {
+            row.setLength(0);
+            CsvUtils.appendField(row, summary.id(), true);
+            CsvUtils.appendField(row, summary.orderId(), false);
+            CsvUtils.appendField(row, summary.orderNumber(), false);
+            CsvUtils.appendField(row, summary.customerId(), false);
+            CsvUtils.appendField(row, summary.status(), false);
+            CsvUtils.appendField(row, summary.currentStep(), false);
+            CsvUtils.appendField(row, summary.totalAmount(), false);
+            CsvUtils.appendField(row, summary.currency(), false);
+            CsvUtils.appendField(row, summary.errorMessage(), false);
+            CsvUtils.appendField(row, summary.createdAt(), false);
+            CsvUtils.appendField(row, summary.updatedAt(), false);
+            CsvUtils.appendField(row, summary.completedAt(), false);
+            CsvUtils.endRow(row);
+            try {
+                writer.write(row.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows;
+    }
+}
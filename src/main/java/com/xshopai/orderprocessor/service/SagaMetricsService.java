@@ -1,231 +1,250 @@
 package com.xshopai.orderprocessor.service;
 
-import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
-import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service for collecting and exposing metrics about saga processing
+ *
+ * All meters are registered once at startup and tagged only with bounded values
+ * (step, outcome, failure code), so the number of time series stays constant no matter how
+ * many sagas are processed. Per-order drill-down belongs in the saga event log, which
+ * records the order number for every transition.
  */
 @Service
-@Slf4j
 public class SagaMetricsService {
 
-    private final OrderProcessingSagaRepository sagaRepository;
-    private final MeterRegistry meterRegistry;
-    
-    private final AtomicLong activeSagasGauge = new AtomicLong(0);
-    private final AtomicLong completedSagasGauge = new AtomicLong(0);
-    private final AtomicLong failedSagasGauge = new AtomicLong(0);
-    private final AtomicLong stuckSagasGauge = new AtomicLong(0);
-
-    public SagaMetricsService(OrderProcessingSagaRepository sagaRepository, MeterRegistry meterRegistry) {
-        this.sagaRepository = sagaRepository;
-        this.meterRegistry = meterRegistry;
-        
-        // Register gauges
-        Gauge.builder("saga.active.count", activeSagasGauge, AtomicLong::get)
+    // Sagas wait on admin actions, so latencies range from seconds to days
+    private static final Duration[] LATENCY_SLOS = {
+        Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15),
+        Duration.ofHours(1), Duration.ofHours(4), Duration.ofHours(24)
+    };
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofSeconds(1);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofDays(7);
+
+    // In admin-driven workflow, active means awaiting admin action
+    static final List<SagaStatus> ACTIVE_STATUSES = List.of(
+        SagaStatus.PENDING_PAYMENT_CONFIRMATION,
+        SagaStatus.PAYMENT_CONFIRMED,
+        SagaStatus.PENDING_SHIPPING_PREPARATION
+    );
+
+    /**
+     * Saga steps used as the step tag
+     */
+    public enum Step {
+        PAYMENT,
+        INVENTORY,
+        SHIPPING;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Categorical failure codes used as the failure_code tag instead of free-text reasons
+     */
+    public enum FailureCode {
+        PAYMENT_FAILED,
+        INVENTORY_FAILED,
+        SHIPPING_FAILED,
+        INTERRUPTED,
+        UNKNOWN;
+
+        /**
+         * Map a free-text failure reason onto a failure code
+         */
+        public static FailureCode classify(String reason) {
+            if (reason == null) {
+                return UNKNOWN;
+            }
+            String text = reason.toLowerCase(Locale.ROOT);
+            if (text.contains("interrupted")) {
+                return INTERRUPTED;
+            }
+            if (text.contains("payment")) {
+                return PAYMENT_FAILED;
+            }
+            if (text.contains("inventory")) {
+                return INVENTORY_FAILED;
+            }
+            if (text.contains("shipping")) {
+                return SHIPPING_FAILED;
+            }
+            return UNKNOWN;
+        }
+    }
+
+    private final Counter sagasStarted;
+    private final Counter sagasCompleted;
+    private final Counter sagasCancelled;
+    private final Counter sagasDeleted;
+    private final Timer completedDuration;
+    private final Map<FailureCode, Counter> sagasFailed = new EnumMap<>(FailureCode.class);
+    private final Map<FailureCode, Timer> failedDuration = new EnumMap<>(FailureCode.class);
+    private final Map<Step, Counter> stepProcessing = new EnumMap<>(Step.class);
+    private final Map<Step, Counter> retries = new EnumMap<>(Step.class);
+    private final Map<Step, Counter> compensations = new EnumMap<>(Step.class);
+    private final Map<Step, Timer> stepDwellCompleted = new EnumMap<>(Step.class);
+    private final Map<Step, Timer> stepDwellFailed = new EnumMap<>(Step.class);
+
+    public SagaMetricsService(SagaStatusCounters statusCounters, MeterRegistry meterRegistry) {
+        sagasStarted = Counter.builder("saga.started.total")
+            .description("Total number of sagas started")
+            .register(meterRegistry);
+        sagasCompleted = Counter.builder("saga.completed.total")
+            .description("Total number of sagas completed")
+            .register(meterRegistry);
+        sagasCancelled = Counter.builder("saga.cancelled.total")
+            .description("Total number of sagas cancelled")
+            .register(meterRegistry);
+        sagasDeleted = Counter.builder("saga.deleted.total")
+            .description("Total number of sagas deleted")
+            .register(meterRegistry);
+        completedDuration = latencyTimer("saga.processing.duration", "End-to-end saga latency from creation")
+            .tag("outcome", "completed")
+            .tag("failure_code", "none")
+            .register(meterRegistry);
+
+        for (FailureCode code : FailureCode.values()) {
+            sagasFailed.put(code, Counter.builder("saga.failed.total")
+                .description("Total number of sagas failed")
+                .tag("failure_code", code.name())
+                .register(meterRegistry));
+            failedDuration.put(code, latencyTimer("saga.processing.duration", "End-to-end saga latency from creation")
+                .tag("outcome", "failed")
+                .tag("failure_code", code.name())
+                .register(meterRegistry));
+        }
+
+        for (Step step : Step.values()) {
+            stepProcessing.put(step, Counter.builder("saga.step.processing.total")
+                .description("Total number of step processing events")
+                .tag("step", step.tagValue())
+                .register(meterRegistry));
+            retries.put(step, Counter.builder("saga.retry.total")
+                .description("Total number of saga retries")
+                .tag("step", step.tagValue())
+                .register(meterRegistry));
+            compensations.put(step, Counter.builder("saga.compensation.total")
+                .description("Total number of compensation actions")
+                .tag("step", step.tagValue())
+                .register(meterRegistry));
+            stepDwellCompleted.put(step, latencyTimer("saga.step.dwell", "Time a saga spent waiting in a step")
+                .tag("step", step.tagValue())
+                .tag("outcome", "completed")
+                .register(meterRegistry));
+            stepDwellFailed.put(step, latencyTimer("saga.step.dwell", "Time a saga spent waiting in a step")
+                .tag("step", step.tagValue())
+                .tag("outcome", "failed")
+                .register(meterRegistry));
+        }
+
+        // Register gauges, read from the in-memory status counters
+        Gauge.builder("saga.active.count", statusCounters, c -> c.sum(ACTIVE_STATUSES))
             .description("Number of active sagas")
             .register(meterRegistry);
             
-        Gauge.builder("saga.completed.count", completedSagasGauge, AtomicLong::get)
+        Gauge.builder("saga.completed.count", statusCounters, c -> c.get(SagaStatus.COMPLETED))
             .description("Number of completed sagas")
             .register(meterRegistry);
             
-        Gauge.builder("saga.failed.count", failedSagasGauge, AtomicLong::get)
+        // Using existing gauge name, but tracking cancelled
+        Gauge.builder("saga.failed.count", statusCounters, c -> c.get(SagaStatus.CANCELLED))
             .description("Number of failed sagas")
             .register(meterRegistry);
             
-        Gauge.builder("saga.stuck.count", stuckSagasGauge, AtomicLong::get)
+        Gauge.builder("saga.stuck.count", statusCounters, c -> c.stuck(ACTIVE_STATUSES))
             .description("Number of stuck sagas")
             .register(meterRegistry);
     }
 
+    private static Timer.Builder latencyTimer(String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(LATENCY_SLOS)
+            .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+            .maximumExpectedValue(MAX_EXPECTED_LATENCY);
+    }
+
     /**
      * Record saga started event
      */
-    public void recordSagaStarted(String orderNumber) {
-        Counter.builder("saga.started.total")
-            .description("Total number of sagas started")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
-        
-        updateGauges();
+    public void recordSagaStarted() {
+        sagasStarted.increment();
     }
 
     /**
      * Record saga completed event
      */
-    public void recordSagaCompleted(String orderNumber, Duration processingTime) {
-        Counter.builder("saga.completed.total")
-            .description("Total number of sagas completed")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
-            
-        Timer.builder("saga.processing.duration")
-            .description("Time taken to process saga")
-            .tag("outcome", "completed")
-            .register(meterRegistry)
-            .record(processingTime);
-        
-        updateGauges();
+    public void recordSagaCompleted(Duration processingTime) {
+        sagasCompleted.increment();
+        completedDuration.record(processingTime);
     }
 
     /**
      * Record saga failed event
      */
-    public void recordSagaFailed(String orderNumber, String failureReason, Duration processingTime) {
-        Counter.builder("saga.failed.total")
-            .description("Total number of sagas failed")
-            .tag("order_number", orderNumber)
-            .tag("failure_reason", failureReason)
-            .register(meterRegistry)
-            .increment();
-            
-        Timer.builder("saga.processing.duration")
-            .description("Time taken to process saga")
-            .tag("outcome", "failed")
-            .register(meterRegistry)
-            .record(processingTime);
-        
-        updateGauges();
+    public void recordSagaFailed(FailureCode failureCode, Duration processingTime) {
+        sagasFailed.get(failureCode).increment();
+        failedDuration.get(failureCode).record(processingTime);
     }
 
     /**
-     * Record payment processing event
+     * Record saga cancelled event
      */
-    public void recordPaymentProcessing(String orderNumber) {
-        Counter.builder("saga.payment.processing.total")
-            .description("Total number of payment processing events")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
+    public void recordSagaCancelled() {
+        sagasCancelled.increment();
     }
 
     /**
-     * Record inventory processing event
+     * Record saga deleted event
      */
-    public void recordInventoryProcessing(String orderNumber) {
-        Counter.builder("saga.inventory.processing.total")
-            .description("Total number of inventory processing events")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
+    public void recordSagaDeleted() {
+        sagasDeleted.increment();
     }
 
     /**
-     * Record shipping processing event
+     * Record a step (payment, inventory, shipping) being processed
      */
-    public void recordShippingProcessing(String orderNumber) {
-        Counter.builder("saga.shipping.processing.total")
-            .description("Total number of shipping processing events")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
+    public void recordStepProcessing(Step step) {
+        stepProcessing.get(step).increment();
     }
 
     /**
      * Record retry event
      */
-    public void recordRetry(String orderNumber, String step, int retryCount) {
-        Counter.builder("saga.retry.total")
-            .description("Total number of saga retries")
-            .tag("order_number", orderNumber)
-            .tag("step", step)
-            .tag("retry_count", String.valueOf(retryCount))
-            .register(meterRegistry)
-            .increment();
+    public void recordRetry(Step step) {
+        retries.get(step).increment();
     }
 
     /**
      * Record compensation event
      */
-    public void recordCompensation(String orderNumber, String step) {
-        Counter.builder("saga.compensation.total")
-            .description("Total number of compensation actions")
-            .tag("order_number", orderNumber)
-            .tag("step", step)
-            .register(meterRegistry)
-            .increment();
-    }
-
-    /**
-     * Record saga completed event (without processing time)
-     */
-    public void recordSagaCompleted(String orderNumber) {
-        Counter.builder("saga.completed.total")
-            .description("Total number of sagas completed")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
-        
-        updateGauges();
-    }
-
-    /**
-     * Record saga cancelled event
-     */
-    public void recordSagaCancelled(String orderNumber) {
-        Counter.builder("saga.cancelled.total")
-            .description("Total number of sagas cancelled")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
-        
-        updateGauges();
-    }
-
-    /**
-     * Record saga deleted event
-     */
-    public void recordSagaDeleted(String orderNumber) {
-        Counter.builder("saga.deleted.total")
-            .description("Total number of sagas deleted")
-            .tag("order_number", orderNumber)
-            .register(meterRegistry)
-            .increment();
-        
-        updateGauges();
+    public void recordCompensation(Step step) {
+        compensations.get(step).increment();
     }
 
     /**
-     * Update gauge metrics
+     * Record how long a saga waited in a step, ignored when either timestamp is missing
      */
-    public void updateGauges() {
-        try {
-            // In admin-driven workflow, active means awaiting admin action
-            List<OrderProcessingSaga.SagaStatus> activeStatuses = List.of(
-                OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION,
-                OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED,
-                OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
-            );
-            
-            long activeSagas = sagaRepository.countByStatusIn(activeStatuses);
-            long completedSagas = sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
-            long cancelledSagas = sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CANCELLED);
-            
-            LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(30);
-            long stuckSagas = sagaRepository.countStuckSagas(activeStatuses, cutoffTime);
-            
-            activeSagasGauge.set(activeSagas);
-            completedSagasGauge.set(completedSagas);
-            failedSagasGauge.set(cancelledSagas); // Using existing gauge name, but tracking cancelled
-            stuckSagasGauge.set(stuckSagas);
-            
-        } catch (Exception e) {
-            log.error("Failed to update saga metrics", e);
+    public void recordStepDwell(Step step, boolean succeeded, LocalDateTime startedAt, LocalDateTime completedAt) {
+        if (startedAt == null || completedAt == null || completedAt.isBefore(startedAt)) {
+            return;
         }
+        (succeeded ? stepDwellCompleted : stepDwellFailed).get(step).record(Duration.between(startedAt, completedAt));
     }
 }
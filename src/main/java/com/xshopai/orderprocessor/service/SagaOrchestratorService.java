@@ -1,20 +1,32 @@
 package com.xshopai.orderprocessor.service;
 
+import com.xshopai.orderprocessor.diagnostics.SagaRepositoryCallEvent;
 import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher;
+import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher.OutboundEvent;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.LogRateLimiter;
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest.Action;
 import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
 import com.xshopai.orderprocessor.model.events.*;
 import com.xshopai.orderprocessor.model.events.InventoryReservationEvent.InventoryItem;
 import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.service.SagaMetricsService.FailureCode;
+import com.xshopai.orderprocessor.service.SagaMetricsService.Step;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,10 +44,14 @@ public class SagaOrchestratorService {
     private final DaprEventPublisher daprEventPublisher;
     private final SagaMetricsService metricsService;
     private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${saga.retry.max-attempts:3}")
     private int maxRetryAttempts;
 
+    // Events for unknown orders tend to arrive in bursts (replays, other environments)
+    private final LogRateLimiter missingSagaWarnings = new LogRateLimiter(10, Duration.ofMinutes(1));
+
     /**
      * Start a new saga for order processing
      * Saga starts in PENDING_PAYMENT_CONFIRMATION status
@@ -43,11 +59,17 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void startOrderProcessingSaga(OrderCreatedEvent orderCreatedEvent) {
-        log.info("Starting order processing saga for order: {}", orderCreatedEvent.getOrderId());
-
-        // Check if saga already exists
-        if (sagaRepository.existsByOrderId(orderCreatedEvent.getOrderId())) {
-            log.warn("Saga already exists for order: {}", orderCreatedEvent.getOrderId());
+        log.debug("Starting order processing saga for order: {}", orderCreatedEvent.getOrderId());
+        EventSummary.put("orderId", orderCreatedEvent.getOrderId());
+
+        // Check if saga already exists (redelivery)
+        SagaRepositoryCallEvent lookup = new SagaRepositoryCallEvent();
+        lookup.begin();
+        boolean exists = sagaRepository.existsByOrderId(orderCreatedEvent.getOrderId());
+        lookup.complete("existsByOrderId", orderCreatedEvent.getOrderId());
+        if (exists) {
+            log.debug("Saga already exists for order: {}", orderCreatedEvent.getOrderId());
+            EventSummary.put("outcome", "duplicate");
             return;
         }
 
@@ -60,6 +82,7 @@ public class SagaOrchestratorService {
         saga.setCurrency(orderCreatedEvent.getCurrency());
         saga.setStatus(OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION);
         saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.AWAITING_PAYMENT);
+        saga.markPaymentStarted();
 
         // Store order items and addresses from event (event-driven architecture)
         // This eliminates the need for HTTP calls to Order Service
@@ -78,15 +101,16 @@ public class SagaOrchestratorService {
             throw new RuntimeException("Failed to store order data in saga", e);
         }
 
-        saga = sagaRepository.save(saga);
-        log.info("Created saga {} for order: {} - Status: PENDING_PAYMENT_CONFIRMATION", 
+        saga = save(saga);
+        EventSummary.put("sagaId", saga.getId());
+        log.debug("Created saga {} for order: {} - Status: PENDING_PAYMENT_CONFIRMATION", 
                 saga.getId(), orderCreatedEvent.getOrderId());
 
         // Record metrics
-        metricsService.recordSagaStarted(orderCreatedEvent.getOrderNumber());
+        metricsService.recordSagaStarted();
         
         // NO AUTOMATIC PROCESSING - Admin must confirm payment via Admin UI
-        log.info("Saga awaiting admin action: Payment confirmation required for order: {}", 
+        log.debug("Saga awaiting admin action: Payment confirmation required for order: {}", 
                 orderCreatedEvent.getOrderNumber());
     }
 
@@ -96,11 +120,10 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handlePaymentProcessed(PaymentProcessedEvent paymentProcessedEvent) {
-        log.info("Admin confirmed payment for order: {}", paymentProcessedEvent.getOrderId());
+        log.debug("Admin confirmed payment for order: {}", paymentProcessedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(paymentProcessedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(paymentProcessedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", paymentProcessedEvent.getOrderId());
             return;
         }
 
@@ -108,12 +131,17 @@ public class SagaOrchestratorService {
         saga.setPaymentId(paymentProcessedEvent.getPaymentId());
         saga.markPaymentConfirmed(); // Sets status to PAYMENT_CONFIRMED, step to AWAITING_SHIPMENT
         saga.setStatus(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION);
+        // Inventory reserves stock once payment is confirmed; inventory.reserved ends that wait
+        saga.markInventoryStarted();
+        saga.markShippingStarted();
         
-        saga = sagaRepository.save(saga);
-        log.info("Updated saga {} - Payment confirmed, awaiting admin shipment preparation", saga.getId());
+        saga = save(saga);
+        log.debug("Updated saga {} - Payment confirmed, awaiting admin shipment preparation", saga.getId());
+        metricsService.recordStepDwell(Step.PAYMENT, true,
+            saga.getPaymentProcessingStartedAt(), saga.getPaymentProcessingCompletedAt());
 
         // NO AUTOMATIC PROCESSING - Admin must prepare shipment via Admin UI
-        log.info("Saga awaiting admin action: Shipment preparation required for order: {}", 
+        log.debug("Saga awaiting admin action: Shipment preparation required for order: {}", 
                 saga.getOrderNumber());
     }
 
@@ -122,11 +150,10 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handlePaymentFailed(PaymentFailedEvent paymentFailedEvent) {
-        log.info("Admin marked payment as failed for order: {}", paymentFailedEvent.getOrderId());
+        log.debug("Admin marked payment as failed for order: {}", paymentFailedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(paymentFailedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(paymentFailedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", paymentFailedEvent.getOrderId());
             return;
         }
 
@@ -145,21 +172,24 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handleInventoryReserved(InventoryReservedEvent inventoryReservedEvent) {
-        log.info("Inventory confirmed for order: {}", inventoryReservedEvent.getOrderId());
+        log.debug("Inventory confirmed for order: {}", inventoryReservedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(inventoryReservedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(inventoryReservedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", inventoryReservedEvent.getOrderId());
             return;
         }
 
         OrderProcessingSaga saga = sagaOpt.get();
         saga.setInventoryReservationId(inventoryReservedEvent.getReservationId());
+        // Started when payment was confirmed, so the dwell covers the wait for the reservation
+        saga.markInventoryCompleted();
         // Note: This handler is for future use if inventory reservation becomes part of workflow
         // Currently admin workflow doesn't include explicit inventory reservation step
         
-        saga = sagaRepository.save(saga);
-        log.info("Inventory reservation recorded for saga {}", saga.getId());
+        saga = save(saga);
+        log.debug("Inventory reservation recorded for saga {}", saga.getId());
+        metricsService.recordStepDwell(Step.INVENTORY, true,
+            saga.getInventoryProcessingStartedAt(), saga.getInventoryProcessingCompletedAt());
 
         // REMOVED automatic shipping preparation - admin must manually prepare shipment
         // Admin will trigger shipping via Admin UI which publishes shipping.prepared event
@@ -178,11 +208,10 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handleInventoryFailed(InventoryFailedEvent inventoryFailedEvent) {
-        log.info("Handling inventory failure for order: {}", inventoryFailedEvent.getOrderId());
+        log.debug("Handling inventory failure for order: {}", inventoryFailedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(inventoryFailedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(inventoryFailedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", inventoryFailedEvent.getOrderId());
             return;
         }
 
@@ -190,8 +219,9 @@ public class SagaOrchestratorService {
         
         if (saga.canRetry()) {
             log.info("Retrying inventory reservation for saga: {} (attempt {})", saga.getId(), saga.getRetryCount() + 1);
+            metricsService.recordRetry(Step.INVENTORY);
             saga.incrementRetry();
-            sagaRepository.save(saga);
+            save(saga);
             
             try {
                 Thread.sleep(1000 * saga.getRetryCount()); // Simple backoff
@@ -218,11 +248,10 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handleShippingPrepared(ShippingPreparedEvent shippingPreparedEvent) {
-        log.info("Admin confirmed shipment prepared for order: {}", shippingPreparedEvent.getOrderId());
+        log.debug("Admin confirmed shipment prepared for order: {}", shippingPreparedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(shippingPreparedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(shippingPreparedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", shippingPreparedEvent.getOrderId());
             return;
         }
 
@@ -233,9 +262,12 @@ public class SagaOrchestratorService {
         saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.COMPLETED);
         saga.markCompleted();
         
-        sagaRepository.save(saga);
-        log.info("Successfully completed saga {} for order: {} - All admin actions completed", 
+        save(saga);
+        log.debug("Successfully completed saga {} for order: {} - All admin actions completed", 
                 saga.getId(), shippingPreparedEvent.getOrderId());
+        metricsService.recordStepDwell(Step.SHIPPING, true,
+            saga.getShippingProcessingStartedAt(), saga.getShippingProcessingCompletedAt());
+        recordCompletion(saga);
         
         // Saga is complete - order fully processed
     }
@@ -245,11 +277,10 @@ public class SagaOrchestratorService {
      */
     @Transactional
     public void handleShippingFailed(ShippingFailedEvent shippingFailedEvent) {
-        log.info("Handling shipping failure for order: {}", shippingFailedEvent.getOrderId());
+        log.debug("Handling shipping failure for order: {}", shippingFailedEvent.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(shippingFailedEvent.getOrderId());
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(shippingFailedEvent.getOrderId());
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", shippingFailedEvent.getOrderId());
             return;
         }
 
@@ -257,8 +288,9 @@ public class SagaOrchestratorService {
         
         if (saga.canRetry()) {
             log.info("Retrying shipping preparation for saga: {} (attempt {})", saga.getId(), saga.getRetryCount() + 1);
+            metricsService.recordRetry(Step.SHIPPING);
             saga.incrementRetry();
-            sagaRepository.save(saga);
+            save(saga);
             
             try {
                 Thread.sleep(1000 * saga.getRetryCount()); // Simple backoff
@@ -279,17 +311,17 @@ public class SagaOrchestratorService {
     public void completeSaga(UUID orderId) {
         log.info("Completing saga for order: {}", orderId);
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(orderId);
+        Optional<OrderProcessingSaga> sagaOpt = findSagaForEvent(orderId);
         if (sagaOpt.isEmpty()) {
-            log.warn("No saga found for order: {}", orderId);
             return;
         }
 
         OrderProcessingSaga saga = sagaOpt.get();
         saga.markCompleted();
-        sagaRepository.save(saga);
+        save(saga);
         
         log.info("Successfully completed saga {} for order: {}", saga.getId(), orderId);
+        recordCompletion(saga);
         
         // Publish order completed status via OrderStatusChangedEvent
         daprEventPublisher.publishOrderCompletedStatus(
@@ -300,6 +332,43 @@ public class SagaOrchestratorService {
         );
     }
 
+    /**
+     * Look up the saga an event refers to, recording its IDs on the event summary
+     * Missing sagas are reported through a rate-limited warning.
+     */
+    private Optional<OrderProcessingSaga> findSagaForEvent(UUID orderId) {
+        EventSummary.put("orderId", orderId);
+        Optional<OrderProcessingSaga> saga = findByOrderId(orderId);
+
+        if (saga.isEmpty()) {
+            EventSummary.put("outcome", "no-saga");
+            if (missingSagaWarnings.tryAcquire()) {
+                long suppressed = missingSagaWarnings.drainSuppressed();
+                if (suppressed > 0) {
+                    log.warn("No saga found for order: {} ({} similar warnings suppressed)", orderId, suppressed);
+                } else {
+                    log.warn("No saga found for order: {}", orderId);
+                }
+            }
+            return saga;
+        }
+        EventSummary.put("sagaId", saga.get().getId());
+        return saga;
+    }
+
+    /**
+     * Find the saga for an order, recorded as a SagaRepositoryCall JFR event
+     */
+    private Optional<OrderProcessingSaga> findByOrderId(UUID orderId) {
+        SagaRepositoryCallEvent event = new SagaRepositoryCallEvent();
+        event.begin();
+        try {
+            return sagaRepository.findByOrderId(orderId);
+        } finally {
+            event.complete("findByOrderId", orderId);
+        }
+    }
+
     /**
      * Handle saga failure and initiate compensation
      */
@@ -307,9 +376,13 @@ public class SagaOrchestratorService {
     public void handleSagaFailure(OrderProcessingSaga saga, String errorMessage) {
         log.error("Handling saga failure for saga: {} - {}", saga.getId(), errorMessage);
 
+        LocalDateTime failedAt = LocalDateTime.now();
         saga.markFailed(errorMessage);
         saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
-        sagaRepository.save(saga);
+        recordFailedStepDwell(saga, failedAt);
+        save(saga);
+        metricsService.recordSagaFailed(FailureCode.classify(errorMessage),
+            Duration.between(saga.getCreatedAt(), failedAt));
 
         // Start compensation process
         try {
@@ -317,7 +390,7 @@ public class SagaOrchestratorService {
         } catch (Exception e) {
             log.error("Failed to compensate saga: {}", saga.getId(), e);
             saga.setStatus(OrderProcessingSaga.SagaStatus.CANCELLED);
-            sagaRepository.save(saga);
+            save(saga);
         }
     }
 
@@ -326,6 +399,7 @@ public class SagaOrchestratorService {
      */
     private void processPayment(OrderProcessingSaga saga, OrderCreatedEvent orderEvent) {
         log.info("Processing payment for saga: {}", saga.getId());
+        metricsService.recordStepProcessing(Step.PAYMENT);
 
         PaymentProcessingEvent paymentEvent = new PaymentProcessingEvent(
                 saga.getOrderId(),
@@ -344,6 +418,7 @@ public class SagaOrchestratorService {
      */
     private void processPaymentRetry(OrderProcessingSaga saga) {
         log.info("Retrying payment for saga: {}", saga.getId());
+        metricsService.recordRetry(Step.PAYMENT);
         
         PaymentProcessingEvent paymentEvent = new PaymentProcessingEvent(
                 saga.getOrderId(),
@@ -364,6 +439,8 @@ public class SagaOrchestratorService {
      */
     private void reserveInventory(OrderProcessingSaga saga) {
         log.info("Reserving inventory for saga: {}", saga.getId());
+        metricsService.recordStepProcessing(Step.INVENTORY);
+        saga.markInventoryStarted();
 
         // Deserialize order items from saga (stored from OrderCreatedEvent)
         // This maintains event-driven architecture without HTTP calls
@@ -397,6 +474,8 @@ public class SagaOrchestratorService {
      */
     private void prepareShipping(OrderProcessingSaga saga) {
         log.info("Preparing shipping for saga: {}", saga.getId());
+        metricsService.recordStepProcessing(Step.SHIPPING);
+        saga.markShippingStarted();
 
         // In a real implementation, you'd fetch shipping details and prepare shipping
         daprEventPublisher.publishShippingPreparation(saga.getOrderId(), saga.getCustomerId());
@@ -408,33 +487,114 @@ public class SagaOrchestratorService {
     private void compensateSaga(OrderProcessingSaga saga) {
         log.info("Compensating saga: {}", saga.getId());
 
+        // Reversals, then the OrderStatusChangedEvent notifying Order Service of the failure
+        for (OutboundEvent event : compensationEvents(saga)) {
+            daprEventPublisher.publishEvent(event.topic(), event.data());
+        }
+        recordCompensations(saga);
+
+        log.info("Completed compensation for saga: {}", saga.getId());
+    }
+
+    /**
+     * Compensate the saga without publishing
+     * Returns the events for the caller to publish once its transaction commits
+     */
+    private List<OutboundEvent> compensationEvents(OrderProcessingSaga saga) {
+        List<OutboundEvent> events = new ArrayList<>(4);
+
         // Reverse actions in reverse order
         if (saga.getShippingId() != null) {
-            daprEventPublisher.publishShippingCancellation(saga.getOrderId(), saga.getShippingId());
+            events.add(DaprEventPublisher.shippingCancellation(saga.getOrderId(), saga.getShippingId()));
         }
-
         if (saga.getInventoryReservationId() != null) {
-            daprEventPublisher.publishInventoryRelease(saga.getOrderId(), saga.getInventoryReservationId());
+            events.add(DaprEventPublisher.inventoryRelease(saga.getOrderId(), saga.getInventoryReservationId()));
         }
-
         if (saga.getPaymentId() != null) {
-            daprEventPublisher.publishPaymentRefund(saga.getOrderId(), saga.getPaymentId());
+            events.add(DaprEventPublisher.paymentRefund(saga.getOrderId(), saga.getPaymentId()));
         }
 
         saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATED);
-        sagaRepository.save(saga);
-        
-        // Notify Order Service of order failure via OrderStatusChangedEvent
+        save(saga);
+
         String failureStep = determineFailureStep(saga);
-        daprEventPublisher.publishOrderFailedStatus(
+        events.add(DaprEventPublisher.orderFailedStatus(
             saga.getOrderId(),
             saga.getOrderNumber(),
             saga.getCustomerId(),
             String.format("Saga compensation completed. Failure at %s: %s", failureStep, saga.getErrorMessage()),
-            saga.getId().toString() // Use saga ID as correlation ID
-        );
-        
-        log.info("Completed compensation for saga: {}", saga.getId());
+            saga.getId().toString()
+        ));
+        return events;
+    }
+
+    private void recordCompensations(OrderProcessingSaga saga) {
+        if (saga.getShippingId() != null) {
+            metricsService.recordCompensation(Step.SHIPPING);
+        }
+        if (saga.getInventoryReservationId() != null) {
+            metricsService.recordCompensation(Step.INVENTORY);
+        }
+        if (saga.getPaymentId() != null) {
+            metricsService.recordCompensation(Step.PAYMENT);
+        }
+    }
+
+    /**
+     * Apply an admin bulk action to a saga inside the caller's transaction
+     * Resulting events are added to the given list for the caller to publish after commit, and
+     * metrics are left to recordBulkAction once the transaction has committed
+     *
+     * @return false when the saga is not in a state the action applies to
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean applyBulkAction(OrderProcessingSaga saga, Action action, String reason, List<OutboundEvent> events) {
+        OrderProcessingSaga.SagaStatus status = saga.getStatus();
+        switch (action) {
+            case CONFIRM_PAYMENT -> {
+                if (status != OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION) {
+                    return false;
+                }
+                saga.markPaymentConfirmed();
+                saga.setStatus(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION);
+                saga.markInventoryStarted();
+                saga.markShippingStarted();
+                save(saga);
+            }
+            case CANCEL -> {
+                if (status == OrderProcessingSaga.SagaStatus.COMPENSATING ||
+                    status == OrderProcessingSaga.SagaStatus.COMPENSATED) {
+                    return false;
+                }
+                saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
+                saga.setErrorMessage("Order cancelled: " + (reason != null ? reason : "Bulk admin cancellation"));
+                events.addAll(compensationEvents(saga));
+            }
+            case COMPENSATE -> {
+                if (status != OrderProcessingSaga.SagaStatus.COMPENSATING &&
+                    status != OrderProcessingSaga.SagaStatus.CANCELLED) {
+                    return false;
+                }
+                saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
+                events.addAll(compensationEvents(saga));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record metrics for a saga a bulk action was applied to, after its chunk committed
+     */
+    public void recordBulkAction(OrderProcessingSaga saga, Action action) {
+        switch (action) {
+            case CONFIRM_PAYMENT -> metricsService.recordStepDwell(Step.PAYMENT, true,
+                saga.getPaymentProcessingStartedAt(), saga.getPaymentProcessingCompletedAt());
+            case CANCEL -> {
+                recordCompensations(saga);
+                metricsService.recordSagaCancelled();
+            }
+            case COMPENSATE -> recordCompensations(saga);
+        }
     }
 
     /**
@@ -467,7 +627,10 @@ public class SagaOrchestratorService {
                 OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION
         );
 
+        SagaRepositoryCallEvent query = new SagaRepositoryCallEvent();
+        query.begin();
         List<OrderProcessingSaga> stuckSagas = sagaRepository.findStuckSagas(awaitingStatuses, cutoffTime);
+        query.complete("findStuckSagas", null);
         
         for (OrderProcessingSaga saga : stuckSagas) {
             log.warn("Found saga awaiting admin action for extended period: {} in status: {}", 
@@ -502,7 +665,7 @@ public class SagaOrchestratorService {
         log.info("Handling order status change for order: {} from {} to {}", 
                 event.getOrderId(), event.getPreviousStatus(), event.getNewStatus());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(UUID.fromString(event.getOrderId()));
+        Optional<OrderProcessingSaga> sagaOpt = findByOrderId(UUID.fromString(event.getOrderId()));
         if (sagaOpt.isEmpty()) {
             log.info("No saga found for order: {}, status change may be external", event.getOrderId());
             return;
@@ -539,7 +702,7 @@ public class SagaOrchestratorService {
     public void handleOrderCancelled(OrderStatusChangedEvent event) {
         log.info("Handling order cancellation for order: {}", event.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(UUID.fromString(event.getOrderId()));
+        Optional<OrderProcessingSaga> sagaOpt = findByOrderId(UUID.fromString(event.getOrderId()));
         if (sagaOpt.isEmpty()) {
             log.warn("No saga found for cancelled order: {}", event.getOrderId());
             return;
@@ -557,17 +720,17 @@ public class SagaOrchestratorService {
         log.info("Initiating compensation for cancelled order: {}", event.getOrderId());
         saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
         saga.setErrorMessage("Order cancelled: " + (event.getReason() != null ? event.getReason() : "User requested"));
-        sagaRepository.save(saga);
+        save(saga);
 
         // Start compensation process
         try {
             compensateSaga(saga);
-            metricsService.recordSagaCancelled(event.getOrderNumber());
+            metricsService.recordSagaCancelled();
         } catch (Exception e) {
             log.error("Failed to compensate saga {} for cancelled order: {}", saga.getId(), event.getOrderId(), e);
             saga.setStatus(OrderProcessingSaga.SagaStatus.CANCELLED);
             saga.setErrorMessage("Compensation failed: " + e.getMessage());
-            sagaRepository.save(saga);
+            save(saga);
         }
     }
 
@@ -579,7 +742,7 @@ public class SagaOrchestratorService {
     public void handleOrderShipped(OrderStatusChangedEvent event) {
         log.info("Handling order shipped for order: {}", event.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(UUID.fromString(event.getOrderId()));
+        Optional<OrderProcessingSaga> sagaOpt = findByOrderId(UUID.fromString(event.getOrderId()));
         if (sagaOpt.isEmpty()) {
             log.info("No saga found for shipped order: {}, may have been completed already", event.getOrderId());
             return;
@@ -591,10 +754,11 @@ public class SagaOrchestratorService {
         if (saga.getStatus() != OrderProcessingSaga.SagaStatus.COMPLETED) {
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
             saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.COMPLETED);
-            sagaRepository.save(saga);
+            saga.markCompleted();
+            save(saga);
             
             log.info("Updated saga {} to COMPLETED due to order shipment", saga.getId());
-            metricsService.recordSagaCompleted(event.getOrderNumber());
+            recordCompletion(saga);
         }
     }
 
@@ -606,7 +770,7 @@ public class SagaOrchestratorService {
     public void handleOrderDelivered(OrderStatusChangedEvent event) {
         log.info("Handling order delivered for order: {}", event.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(UUID.fromString(event.getOrderId()));
+        Optional<OrderProcessingSaga> sagaOpt = findByOrderId(UUID.fromString(event.getOrderId()));
         if (sagaOpt.isEmpty()) {
             log.info("No saga found for delivered order: {}, may have been completed already", event.getOrderId());
             return;
@@ -619,10 +783,10 @@ public class SagaOrchestratorService {
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
             saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.COMPLETED);
             saga.markCompleted();
-            sagaRepository.save(saga);
+            save(saga);
             
             log.info("Marked saga {} as COMPLETED due to order delivery", saga.getId());
-            metricsService.recordSagaCompleted(event.getOrderNumber());
+            recordCompletion(saga);
         }
         
         // Saga can now be archived or cleaned up
@@ -638,7 +802,7 @@ public class SagaOrchestratorService {
     public void handleOrderDeleted(OrderDeletedEvent event) {
         log.info("Handling order deletion for order: {}", event.getOrderId());
 
-        Optional<OrderProcessingSaga> sagaOpt = sagaRepository.findByOrderId(UUID.fromString(event.getOrderId()));
+        Optional<OrderProcessingSaga> sagaOpt = findByOrderId(UUID.fromString(event.getOrderId()));
         if (sagaOpt.isEmpty()) {
             log.info("No saga found for deleted order: {}", event.getOrderId());
             return;
@@ -654,7 +818,7 @@ public class SagaOrchestratorService {
             log.warn("Saga {} is in progress, compensating before deletion", saga.getId());
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
             saga.setErrorMessage("Order deleted: " + (event.getReason() != null ? event.getReason() : "User requested"));
-            sagaRepository.save(saga);
+            save(saga);
             
             try {
                 compensateSaga(saga);
@@ -667,7 +831,7 @@ public class SagaOrchestratorService {
         log.info("Deleting saga {} for deleted order {}", saga.getId(), event.getOrderId());
         sagaRepository.delete(saga);
         
-        metricsService.recordSagaDeleted(event.getOrderNumber());
+        metricsService.recordSagaDeleted();
     }
 
     /**
@@ -679,7 +843,7 @@ public class SagaOrchestratorService {
             
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPENSATING);
             saga.setErrorMessage("Order cancelled via status change: " + event.getReason());
-            sagaRepository.save(saga);
+            save(saga);
             
             try {
                 compensateSaga(saga);
@@ -696,7 +860,9 @@ public class SagaOrchestratorService {
         if (saga.getStatus() != OrderProcessingSaga.SagaStatus.COMPLETED) {
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
             saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.COMPLETED);
-            sagaRepository.save(saga);
+            saga.markCompleted();
+            save(saga);
+            recordCompletion(saga);
         }
     }
 
@@ -708,7 +874,53 @@ public class SagaOrchestratorService {
             saga.setStatus(OrderProcessingSaga.SagaStatus.COMPLETED);
             saga.setCurrentStep(OrderProcessingSaga.ProcessingStep.COMPLETED);
             saga.markCompleted();
-            sagaRepository.save(saga);
+            save(saga);
+            recordCompletion(saga);
+        }
+    }
+
+    /**
+     * Save a saga, tracing a status change as a saga.transition span
+     * The span is a child of the consumer or request span that caused the transition
+     */
+    private OrderProcessingSaga save(OrderProcessingSaga saga) {
+        OrderProcessingSaga.SagaStatus from = saga.getPersistedStatus();
+        OrderProcessingSaga.SagaStatus to = saga.getStatus();
+        if (from == to) {
+            return sagaRepository.save(saga);
+        }
+        // Status values are bounded, so the pair is safe as low-cardinality tags
+        return Observation.createNotStarted("saga.transition", observationRegistry)
+            .contextualName("saga transition")
+            .lowCardinalityKeyValue("from", String.valueOf(from))
+            .lowCardinalityKeyValue("to", String.valueOf(to))
+            .highCardinalityKeyValue("saga.id", String.valueOf(saga.getId()))
+            .observe(() -> sagaRepository.save(saga));
+    }
+
+    /**
+     * Record end-to-end saga latency from creation to completion
+     */
+    private void recordCompletion(OrderProcessingSaga saga) {
+        LocalDateTime completedAt = saga.getCompletedAt() != null ? saga.getCompletedAt() : LocalDateTime.now();
+        metricsService.recordSagaCompleted(Duration.between(saga.getCreatedAt(), completedAt));
+    }
+
+    /**
+     * Close whichever step was in progress when the saga failed and record its dwell time
+     */
+    private void recordFailedStepDwell(OrderProcessingSaga saga, LocalDateTime failedAt) {
+        if (saga.getShippingProcessingStartedAt() != null && saga.getShippingProcessingCompletedAt() == null) {
+            saga.setShippingProcessingCompletedAt(failedAt);
+            metricsService.recordStepDwell(Step.SHIPPING, false, saga.getShippingProcessingStartedAt(), failedAt);
+        }
+        if (saga.getInventoryProcessingStartedAt() != null && saga.getInventoryProcessingCompletedAt() == null) {
+            saga.setInventoryProcessingCompletedAt(failedAt);
+            metricsService.recordStepDwell(Step.INVENTORY, false, saga.getInventoryProcessingStartedAt(), failedAt);
+        }
+        if (saga.getPaymentProcessingStartedAt() != null && saga.getPaymentProcessingCompletedAt() == null) {
+            saga.setPaymentProcessingCompletedAt(failedAt);
+            metricsService.recordStepDwell(Step.PAYMENT, false, saga.getPaymentProcessingStartedAt(), failedAt);
         }
     }
 }
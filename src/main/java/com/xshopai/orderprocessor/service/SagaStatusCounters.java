@@ -0,0 +1,140 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository.StatusCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory saga counts per status
+ *
+ * Kept up to date from committed SagaTransition events (see SagaStatusListener) so that stats,
+ * gauges and health checks don't need COUNT queries. reconcile() replaces all values with a
+ * single GROUP BY query; it runs on a schedule to absorb changes made outside this instance
+ * (other replicas, bulk import, manual SQL). Stuck counts are time based and therefore only
+ * refreshed by reconcile().
+ */
+@Component
+@Slf4j
+public class SagaStatusCounters {
+
+    private final OrderProcessingSagaRepository sagaRepository;
+    private final Map<SagaStatus, AtomicLong> counts = new EnumMap<>(SagaStatus.class);
+    private final Map<SagaStatus, AtomicLong> stuckCounts = new EnumMap<>(SagaStatus.class);
+
+    @Value("${saga.stuck-threshold-minutes:30}")
+    private long stuckThresholdMinutes;
+
+    private volatile Instant lastReconciledAt;
+
+    public SagaStatusCounters(OrderProcessingSagaRepository sagaRepository) {
+        this.sagaRepository = sagaRepository;
+        for (SagaStatus status : SagaStatus.values()) {
+            counts.put(status, new AtomicLong());
+            stuckCounts.put(status, new AtomicLong());
+        }
+    }
+
+    // Runs before other listeners so snapshots sent by the live feed include the transition
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransition(SagaTransition transition) {
+        recordTransition(transition.from(), transition.to());
+    }
+
+    /**
+     * Apply a committed transition; either side may be null for inserts and deletes
+     */
+    public void recordTransition(SagaStatus from, SagaStatus to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            counts.get(from).decrementAndGet();
+        }
+        if (to != null) {
+            counts.get(to).incrementAndGet();
+        }
+    }
+
+    public long get(SagaStatus status) {
+        return counts.get(status).get();
+    }
+
+    public long sum(Collection<SagaStatus> statuses) {
+        long total = 0;
+        for (SagaStatus status : statuses) {
+            total += counts.get(status).get();
+        }
+        return total;
+    }
+
+    public long total() {
+        return sum(counts.keySet());
+    }
+
+    /**
+     * Current count of every status
+     */
+    public Map<SagaStatus, Long> snapshot() {
+        Map<SagaStatus, Long> snapshot = new EnumMap<>(SagaStatus.class);
+        counts.forEach((status, count) -> snapshot.put(status, count.get()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Sagas in the given statuses not updated within the stuck threshold, as of the last reconcile
+     */
+    public long stuck(Collection<SagaStatus> statuses) {
+        long total = 0;
+        for (SagaStatus status : statuses) {
+            total += stuckCounts.get(status).get();
+        }
+        return total;
+    }
+
+    public Instant getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    /**
+     * Replace all counts with the database totals from one GROUP BY status query
+     */
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(stuckThresholdMinutes);
+        Map<SagaStatus, StatusCount> rows = new EnumMap<>(SagaStatus.class);
+        for (StatusCount row : sagaRepository.countGroupedByStatus(cutoffTime)) {
+            rows.put(row.getStatus(), row);
+        }
+
+        long drift = 0;
+        for (SagaStatus status : SagaStatus.values()) {
+            StatusCount row = rows.get(status);
+            long total = row != null ? row.getTotal() : 0;
+            long stuck = row != null && row.getStuck() != null ? row.getStuck() : 0;
+            drift += Math.abs(counts.get(status).getAndSet(total) - total);
+            stuckCounts.get(status).set(stuck);
+        }
+
+        if (lastReconciledAt != null && drift > 0) {
+            log.info("Reconciled saga status counters, corrected drift of {}", drift);
+        }
+        lastReconciledAt = Instant.now();
+    }
+}
@@ -0,0 +1,193 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans saga transitions out to admin live feed subscribers (/api/v1/admin/sagas/stream)
+ *
+ * Every subscriber gets its own bounded buffer and sender thread, so a slow client never
+ * blocks saga processing or other subscribers. When a buffer overflows its pending transitions
+ * are dropped and the client is sent a fresh counter snapshot instead. A snapshot is also sent
+ * on connect and whenever the feed has been idle for the snapshot interval.
+ *
+ * Local transitions arrive as application events; transitions committed by other replicas
+ * are handed over by PgNotifyTransitionRelay.
+ */
+@Component
+@Slf4j
+public class SagaTransitionBroadcaster {
+
+    static final String TRANSITION_EVENT = "transition";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final SagaStatusCounters statusCounters;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Value("${saga.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${saga.stream.max-subscribers:50}")
+    private int maxSubscribers;
+
+    @Value("${saga.stream.snapshot-interval:15s}")
+    private Duration snapshotInterval;
+
+    @Value("${saga.stream.timeout:30m}")
+    private Duration timeout;
+
+    public SagaTransitionBroadcaster(SagaStatusCounters statusCounters) {
+        this.statusCounters = statusCounters;
+    }
+
+    /**
+     * Counts of every status at a point in time
+     */
+    public record Snapshot(Map<SagaStatus, Long> counts, long total, Instant at) {
+    }
+
+    /**
+     * Open a new feed, or empty when the subscriber limit has been reached
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(createEmitter(), bufferSize);
+        subscribers.add(subscriber);
+        subscriber.start();
+        log.debug("Saga stream subscriber connected ({} active)", subscribers.size());
+        return Optional.of(subscriber.emitter);
+    }
+
+    @EventListener
+    public void onTransition(SagaTransition transition) {
+        deliver(transition);
+    }
+
+    /**
+     * Queue a transition for every subscriber without blocking
+     */
+    public void deliver(SagaTransition transition) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(transition);
+        }
+    }
+
+    /**
+     * Make every subscriber resync from a snapshot, e.g. after transitions may have been missed
+     */
+    public void resyncAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestResync();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(statusCounters.snapshot(), statusCounters.total(), Instant.now());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SagaTransition> buffer;
+        private final AtomicBoolean resync = new AtomicBoolean(true);
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            emitter.onCompletion(this::close);
+            // Complete the async request on timeout rather than leaving it to the container
+            emitter.onTimeout(() -> {
+                close();
+                emitter.complete();
+            });
+            emitter.onError(e -> close());
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("saga-stream-sender").start(this::run);
+        }
+
+        void offer(SagaTransition transition) {
+            if (!buffer.offer(transition)) {
+                requestResync();
+            }
+        }
+
+        void requestResync() {
+            resync.set(true);
+            buffer.clear();
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    if (resync.getAndSet(false)) {
+                        buffer.clear();
+                        send(SNAPSHOT_EVENT, snapshot());
+                        continue;
+                    }
+                    SagaTransition transition = buffer.poll(snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (transition != null) {
+                        send(TRANSITION_EVENT, transition);
+                    } else {
+                        send(SNAPSHOT_EVENT, snapshot());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks may not fire until the next write attempt
+                log.debug("Saga stream subscriber disconnected: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void send(String name, Object data) throws IOException {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            Thread thread = sender;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.xshopai.orderprocessor.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.prometheus.metrics.tracer.common.SpanContext;
+
+/**
+ * Exemplar span context for Prometheus histograms
+ *
+ * Supplies the active span's IDs as exemplars on histogram buckets such as
+ * saga.processing.duration, and tags the span when it is picked so SlowTraceSpanProcessor
+ * exports that trace even if it was fast.
+ */
+public class ExemplarSpanContext implements SpanContext {
+
+    @Override
+    public String getCurrentTraceId() {
+        io.opentelemetry.api.trace.SpanContext span = Span.current().getSpanContext();
+        return span.isValid() ? span.getTraceId() : null;
+    }
+
+    @Override
+    public String getCurrentSpanId() {
+        io.opentelemetry.api.trace.SpanContext span = Span.current().getSpanContext();
+        return span.isValid() ? span.getSpanId() : null;
+    }
+
+    @Override
+    public boolean isCurrentSpanSampled() {
+        io.opentelemetry.api.trace.SpanContext span = Span.current().getSpanContext();
+        return span.isValid() && span.isSampled();
+    }
+
+    @Override
+    public void markCurrentSpanAsExemplar() {
+        Span.current().setAttribute(SlowTraceSpanProcessor.EXEMPLAR, true);
+    }
+}
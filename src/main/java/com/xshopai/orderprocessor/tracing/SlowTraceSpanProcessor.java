@@ -0,0 +1,145 @@
+package com.xshopai.orderprocessor.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tail-sampling span processor
+ *
+ * Holds finished spans per trace until the trace's local root span ends, then hands the whole
+ * trace to the exporting processor only if the root took longer than the threshold, any span
+ * failed, or the trace was picked as a metrics exemplar. Every other trace is dropped in
+ * memory, so spans are still recorded but serialization and export are only paid for the
+ * traces worth looking at.
+ */
+public class SlowTraceSpanProcessor implements SpanProcessor {
+
+    /**
+     * Set on a span whose trace ID was attached to a histogram bucket as an exemplar
+     */
+    public static final AttributeKey<Boolean> EXEMPLAR = AttributeKey.booleanKey("exemplar");
+
+    private static final int MAX_PENDING_TRACES = 10_000;
+    private static final int MAX_SPANS_PER_TRACE = 512;
+    // Spans that end after their root, or whose root never ends here, are dropped after this
+    private static final long PENDING_TTL_NANOS = Duration.ofMinutes(1).toNanos();
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final SpanProcessor exporting;
+    private final long thresholdNanos;
+    private final ConcurrentHashMap<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public SlowTraceSpanProcessor(SpanProcessor exporting, Duration threshold) {
+        this.exporting = exporting;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        exporting.onStart(parentContext, span);
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return exporting.isStartRequired();
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!span.getSpanContext().isSampled()) {
+            return;
+        }
+        String traceId = span.getSpanContext().getTraceId();
+        if (!isLocalRoot(span)) {
+            hold(traceId, span);
+            return;
+        }
+
+        PendingTrace trace = pending.remove(traceId);
+        if (isWorthExporting(span) || (trace != null && trace.keep)) {
+            if (trace != null) {
+                trace.spans.forEach(exporting::onEnd);
+            }
+            exporting.onEnd(span);
+        }
+        sweepExpired();
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        return exporting.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporting.forceFlush();
+    }
+
+    int pendingTraces() {
+        return pending.size();
+    }
+
+    private void hold(String traceId, ReadableSpan span) {
+        if (pending.size() >= MAX_PENDING_TRACES && !pending.containsKey(traceId)) {
+            return;
+        }
+        boolean keep = isWorthExporting(span);
+        pending.compute(traceId, (id, trace) -> {
+            PendingTrace held = trace != null ? trace : new PendingTrace(System.nanoTime());
+            if (held.spans.size() < MAX_SPANS_PER_TRACE) {
+                held.spans.add(span);
+            }
+            held.keep |= keep;
+            return held;
+        });
+    }
+
+    private boolean isWorthExporting(ReadableSpan span) {
+        return span.getLatencyNanos() >= thresholdNanos
+            || Boolean.TRUE.equals(span.getAttribute(EXEMPLAR))
+            || span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        pending.values().removeIf(trace -> now - trace.createdNanos > PENDING_TTL_NANOS);
+    }
+
+    private static boolean isLocalRoot(ReadableSpan span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static final class PendingTrace {
+        final long createdNanos;
+        final List<ReadableSpan> spans = new ArrayList<>();
+        boolean keep;
+
+        PendingTrace(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+    }
+}
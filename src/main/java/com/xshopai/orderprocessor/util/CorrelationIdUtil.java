@@ -130,7 +130,8 @@ public class CorrelationIdUtil {
 
     /**
      * Execute a runnable with correlation ID context
-     * Useful for async operations where MDC might not be propagated
+     * For handing work to another thread, use TraceContext.wrap (or an executor decorated with
+     * it), which carries trace and span IDs as well
      * 
      * @param correlationId correlation ID to set
      * @param operation operation to execute
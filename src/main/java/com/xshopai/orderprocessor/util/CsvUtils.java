@@ -0,0 +1,47 @@
+package com.xshopai.orderprocessor.util;
+
+/**
+ * Utility methods for writing RFC 4180 CSV
+ * Output is compatible with PostgreSQL COPY ... WITH (FORMAT csv)
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    /**
+     * Append a single field to the row
+     * A null value is written as an unquoted empty field, which COPY reads as NULL;
+     * any other value is quoted so that empty strings survive the round trip
+     *
+     * @param row row being built
+     * @param value field value (may be null)
+     * @param first whether this is the first field of the row (no leading separator)
+     */
+    public static void appendField(StringBuilder row, Object value, boolean first) {
+        if (!first) {
+            row.append(',');
+        }
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        row.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    /**
+     * Terminate the current row
+     */
+    public static void endRow(StringBuilder row) {
+        row.append('\n');
+    }
+}
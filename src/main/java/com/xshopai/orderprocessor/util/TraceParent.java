@@ -0,0 +1,107 @@
+package com.xshopai.orderprocessor.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C traceparent header codec
+ * Parses, validates and generates traceparent values (00-{trace-id}-{span-id}-{flags}) without
+ * regular expressions or intermediate buffers; the only allocations are the resulting strings.
+ */
+public record TraceParent(String traceId, String spanId, String header) {
+
+    private static final int HEADER_LENGTH = 55;
+    private static final int TRACE_ID_OFFSET = 3;
+    private static final int SPAN_ID_OFFSET = 36;
+    private static final int FLAGS_OFFSET = 53;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Parse a traceparent header, returning null when it is malformed or has an all-zero ID.
+     * The header is returned as-is for propagation when it is already sampled (flags 01).
+     */
+    public static TraceParent parse(String value) {
+        if (value == null || value.length() != HEADER_LENGTH
+                || value.charAt(0) != '0' || value.charAt(1) != '0'
+                || value.charAt(2) != '-' || value.charAt(SPAN_ID_OFFSET - 1) != '-'
+                || value.charAt(FLAGS_OFFSET - 1) != '-') {
+            return null;
+        }
+        if (!isHex(value, TRACE_ID_OFFSET, SPAN_ID_OFFSET - 1)
+                || !isHex(value, SPAN_ID_OFFSET, FLAGS_OFFSET - 1)
+                || !isHex(value, FLAGS_OFFSET, HEADER_LENGTH)) {
+            return null;
+        }
+
+        String traceId = value.substring(TRACE_ID_OFFSET, SPAN_ID_OFFSET - 1);
+        String spanId = value.substring(SPAN_ID_OFFSET, FLAGS_OFFSET - 1);
+
+        String header = value;
+        if (value.charAt(FLAGS_OFFSET) != '0' || value.charAt(FLAGS_OFFSET + 1) != '1') {
+            char[] buf = new char[HEADER_LENGTH];
+            value.getChars(0, FLAGS_OFFSET, buf, 0);
+            buf[FLAGS_OFFSET] = '0';
+            buf[FLAGS_OFFSET + 1] = '1';
+            header = new String(buf);
+        }
+        return new TraceParent(traceId, spanId, header);
+    }
+
+    /**
+     * Generate a sampled trace context with a random 128-bit trace ID and 64-bit span ID
+     */
+    public static TraceParent generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long traceHigh;
+        long traceLow;
+        do {
+            traceHigh = random.nextLong();
+            traceLow = random.nextLong();
+        } while (traceHigh == 0 && traceLow == 0);
+        long span;
+        do {
+            span = random.nextLong();
+        } while (span == 0);
+
+        char[] buf = new char[HEADER_LENGTH];
+        buf[0] = '0';
+        buf[1] = '0';
+        buf[2] = '-';
+        encode(traceHigh, buf, TRACE_ID_OFFSET);
+        encode(traceLow, buf, TRACE_ID_OFFSET + 16);
+        buf[SPAN_ID_OFFSET - 1] = '-';
+        encode(span, buf, SPAN_ID_OFFSET);
+        buf[FLAGS_OFFSET - 1] = '-';
+        buf[FLAGS_OFFSET] = '0';
+        buf[FLAGS_OFFSET + 1] = '1';
+
+        String header = new String(buf);
+        return new TraceParent(
+            header.substring(TRACE_ID_OFFSET, SPAN_ID_OFFSET - 1),
+            header.substring(SPAN_ID_OFFSET, FLAGS_OFFSET - 1),
+            header);
+    }
+
+    /**
+     * Check a range is lowercase hex and, for IDs, not all zeros
+     */
+    private static boolean isHex(String value, int from, int to) {
+        boolean nonZero = false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        // Flags may legitimately be 00
+        return nonZero || to == HEADER_LENGTH;
+    }
+
+    private static void encode(long value, char[] buf, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            buf[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- V5: Composite indexes for keyset (cursor) pagination of the admin saga listing
+-- Each index ends in (created_at, id) so a page is a single index range scan,
+-- regardless of how deep the cursor is
+--
+-- Built CONCURRENTLY so deploys don't block writes to the saga table; this requires running
+-- outside a transaction (see V5__add_saga_keyset_indexes.sql.conf). If a build fails, drop the
+-- INVALID index it leaves behind before repairing and re-running the migration.
+-- The single-column created_at and customer_id indexes from V1 are kept: findByCustomerId and
+-- the stale saga sweep still use them.
+
+CREATE INDEX CONCURRENTLY idx_order_processing_saga_created_at_id
+ON order_processing_saga (created_at, id);
+
+CREATE INDEX CONCURRENTLY idx_order_processing_saga_status_created_at_id
+ON order_processing_saga (status, created_at, id);
+
+CREATE INDEX CONCURRENTLY idx_order_processing_saga_customer_created_at_id
+ON order_processing_saga (customer_id, created_at, id);
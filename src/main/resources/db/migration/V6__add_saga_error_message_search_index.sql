@@ -0,0 +1,8 @@
+-- V6: Full-text index for admin search on failure reasons
+-- Queries must use the same expression to hit this index:
+--   to_tsvector('simple', coalesce(error_message, '')) @@ plainto_tsquery('simple', :text)
+-- The 'simple' configuration avoids language stemming of codes and identifiers
+-- Built CONCURRENTLY outside a transaction (see the .sql.conf file) so writes aren't blocked
+
+CREATE INDEX CONCURRENTLY idx_order_processing_saga_error_message_fts
+ON order_processing_saga USING GIN (to_tsvector('simple', coalesce(error_message, '')));
@@ -0,0 +1,131 @@
+package com.xshopai.orderprocessor.benchmark;
+
+import com.xshopai.orderprocessor.filter.DaprIngressFilter;
+import com.xshopai.orderprocessor.filter.DatabaseWorkloadFilter;
+import com.xshopai.orderprocessor.filter.TraceContextFilter;
+import com.xshopai.orderprocessor.security.JwtAuthenticationFilter;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
+import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.context.request.async.WebAsyncManagerIntegrationFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.HstsHeaderWriter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
+import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.savedrequest.RequestCacheAwareFilter;
+import org.springframework.security.web.servletapi.SecurityContextHolderAwareRequestFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dapr ingress microbenchmark
+ * Compares the servlet filter work done per pub/sub delivery before and after /dapr/** got its
+ * own minimal path. The "generic" stack mirrors the security chain SecurityConfig builds
+ * (stateless, JWT, authorize) followed by TraceContextFilter and DatabaseWorkloadFilter; the
+ * "dedicated" stack is an ignored security chain plus DaprIngressFilter. The generic stack is
+ * driven with a non-Dapr path so the trace and workload filters do the full work they used to
+ * do for deliveries. Run as described on TraceParentBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DaprIngressBenchmark {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private static final HttpServlet CONSUMER = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            // Controller cost is identical on both paths
+        }
+    };
+
+    private List<Filter> genericStack;
+    private List<Filter> dedicatedStack;
+
+    @Setup
+    public void setUp() throws Exception {
+        AuthorizationManager<HttpServletRequest> permitAll = (authentication, request) -> new AuthorizationDecision(true);
+        SecurityContextHolderAwareRequestFilter servletApiFilter = new SecurityContextHolderAwareRequestFilter();
+        servletApiFilter.afterPropertiesSet();
+
+        FilterChainProxy securityChain = new FilterChainProxy(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE,
+            new DisableEncodeUrlFilter(),
+            new WebAsyncManagerIntegrationFilter(),
+            new SecurityContextHolderFilter(new RequestAttributeSecurityContextRepository()),
+            new HeaderWriterFilter(List.of(new XContentTypeOptionsHeaderWriter(), new XXssProtectionHeaderWriter(),
+                new CacheControlHeadersWriter(), new HstsHeaderWriter(), new XFrameOptionsHeaderWriter())),
+            new LogoutFilter("/", new SecurityContextLogoutHandler()),
+            new JwtAuthenticationFilter(null),
+            new RequestCacheAwareFilter(),
+            servletApiFilter,
+            new AnonymousAuthenticationFilter("benchmark"),
+            new ExceptionTranslationFilter(new Http403ForbiddenEntryPoint()),
+            new AuthorizationFilter(permitAll)));
+        genericStack = List.of(securityChain, new TraceContextFilter(), new DatabaseWorkloadFilter());
+
+        FilterChainProxy ignoredChain = new FilterChainProxy(
+            new DefaultSecurityFilterChain(new AntPathRequestMatcher("/dapr/**")));
+        dedicatedStack = List.of(ignoredChain, new DaprIngressFilter("benchmark-token"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse genericStack() throws Exception {
+        return run(genericStack, "/events/payment-processed");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse dedicatedStack() throws Exception {
+        return run(dedicatedStack, "/dapr/events/payment-processed");
+    }
+
+    private static MockHttpServletResponse run(List<Filter> filters, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader("traceparent", TRACEPARENT);
+        request.addHeader("dapr-api-token", "benchmark-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain(CONSUMER, filters.toArray(Filter[]::new));
+        chain.doFilter(request, response);
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(DaprIngressBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
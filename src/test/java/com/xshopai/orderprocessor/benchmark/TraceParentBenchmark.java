@@ -0,0 +1,62 @@
+package com.xshopai.orderprocessor.benchmark;
+
+import com.xshopai.orderprocessor.util.TraceParent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TraceParent microbenchmark
+ * Measures the per-request cost of TraceContextFilter's header handling. Run with the GC
+ * profiler to see allocations per operation (gc.alloc.rate.norm):
+ *
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *        com.xshopai.orderprocessor.benchmark.TraceParentBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceParentBenchmark {
+
+    private String sampledHeader;
+    private String invalidHeader;
+
+    @Setup
+    public void setUp() {
+        sampledHeader = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        invalidHeader = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-0z";
+    }
+
+    @Benchmark
+    public TraceParent parseSampled() {
+        return TraceParent.parse(sampledHeader);
+    }
+
+    @Benchmark
+    public TraceParent rejectInvalid() {
+        return TraceParent.parse(invalidHeader);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TraceParent generate() {
+        return TraceParent.generate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TraceParentBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
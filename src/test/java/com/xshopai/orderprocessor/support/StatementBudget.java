@@ -0,0 +1,90 @@
+package com.xshopai.orderprocessor.support;
+
+import com.xshopai.orderprocessor.diagnostics.StatementCounter;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Counts;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Kind;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.RepeatedQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Statement budget assertion for tests
+ *
+ * Runs a piece of work against a DataSource wrapped by StatementCounter.countingDataSource
+ * and fails the test if it executed more statements than allowed, e.g.:
+ *
+ *   StatementBudget.atMost(3).atMost(Kind.UPDATE, 1).noRepeatedSelects()
+ *       .verify(() -> orchestrator.handlePaymentProcessed(event));
+ *
+ * Transactional work should commit inside the Runnable so the flush is counted.
+ */
+public final class StatementBudget {
+
+    private final long maxStatements;
+    private final long[] maxByKind = new long[Kind.values().length];
+    private int maxSelectExecutions = Integer.MAX_VALUE;
+
+    private StatementBudget(long maxStatements) {
+        this.maxStatements = maxStatements;
+        Arrays.fill(maxByKind, Long.MAX_VALUE);
+    }
+
+    /**
+     * Allow at most this many statements in total
+     */
+    public static StatementBudget atMost(long statements) {
+        return new StatementBudget(statements);
+    }
+
+    /**
+     * Allow at most this many statements of one kind
+     */
+    public StatementBudget atMost(Kind kind, long statements) {
+        maxByKind[kind.ordinal()] = statements;
+        return this;
+    }
+
+    /**
+     * Fail if any SELECT runs more than once, the usual sign of N+1 loading
+     */
+    public StatementBudget noRepeatedSelects() {
+        maxSelectExecutions = 1;
+        return this;
+    }
+
+    /**
+     * Run the work on this thread and check what it executed
+     */
+    public Counts verify(Runnable work) {
+        Counts counts = StatementCounter.begin();
+        try {
+            work.run();
+        } finally {
+            StatementCounter.end(counts);
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (counts.statements() > maxStatements) {
+            violations.add("expected at most " + maxStatements + " statements");
+        }
+        for (Kind kind : Kind.values()) {
+            if (counts.statements(kind) > maxByKind[kind.ordinal()]) {
+                violations.add("expected at most " + maxByKind[kind.ordinal()] + " "
+                    + kind.name().toLowerCase(Locale.ROOT) + " statements");
+            }
+        }
+        RepeatedQuery repeated = counts.mostRepeatedSelect();
+        if (repeated != null && repeated.executions() > maxSelectExecutions) {
+            violations.add("query ran " + repeated.executions() + " times: " + repeated.sql());
+        }
+        if (!violations.isEmpty()) {
+            fail("Statement budget exceeded, " + String.join("; ", violations) + ". Executed " + counts);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,122 @@
+package com.xshopai.orderprocessor.client;
+
+import com.xshopai.orderprocessor.client.DaprSecretManager.KeyFormat;
+import io.dapr.client.DaprClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DaprSecretManagerTest {
+
+    @Mock
+    private DaprClient daprClient;
+
+    @Mock
+    private Environment environment;
+
+    private DaprSecretManager secretManager;
+
+    @BeforeEach
+    void setUp() {
+        secretManager = new DaprSecretManager(daprClient, environment);
+        ReflectionTestUtils.setField(secretManager, "cacheTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(secretManager, "refreshInterval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(secretManager, "prefetchTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void prefetch_WithBulkSecrets_ShouldServeDatabaseConfigWithoutFurtherCalls() {
+        // Arrange
+        when(daprClient.getBulkSecret("secretstore")).thenReturn(Mono.just(Map.of(
+            "database:host", Map.of("database:host", "db.internal"),
+            "database:port", Map.of("database:port", "5432"),
+            "database-name", Map.of("database-name", "orders"),
+            "database:user", Map.of("database:user", "app"),
+            "database:password", Map.of("database:password", "secret"),
+            "jwt:secret", Map.of("jwt:secret", "jwt-secret"))));
+        when(daprClient.getSecret(anyString(), anyString())).thenReturn(Mono.empty());
+
+        // Act
+        secretManager.prefetch();
+        DaprSecretManager.DatabaseConfig config = secretManager.getDatabaseConfig();
+
+        // Assert
+        assertEquals("jdbc:postgresql://db.internal:5432/orders", config.getJdbcUrl());
+        assertEquals("jwt-secret", secretManager.getJwtSecret());
+        assertNull(secretManager.getReplicaDatabaseConfig());
+        verify(daprClient, never()).getSecret("secretstore", "database:host");
+        verify(daprClient, never()).getSecret("secretstore", "jwt:secret");
+    }
+
+    @Test
+    void refreshAll_ShouldTryTheFormatThatResolvedFirst() {
+        // Arrange
+        when(daprClient.getSecret("secretstore", "jwt:secret")).thenReturn(Mono.empty());
+        when(daprClient.getSecret("secretstore", "jwt-secret")).thenReturn(Mono.just(Map.of("jwt-secret", "v1")));
+        assertEquals("v1", secretManager.getJwtSecret());
+        when(daprClient.getSecret("secretstore", "jwt-secret")).thenReturn(Mono.just(Map.of("jwt-secret", "v2")));
+
+        // Act
+        secretManager.refreshAll();
+
+        // Assert
+        assertEquals("v2", secretManager.getJwtSecret());
+        verify(daprClient, times(1)).getSecret("secretstore", "jwt:secret");
+        verify(daprClient, times(2)).getSecret("secretstore", "jwt-secret");
+    }
+
+    @Test
+    void refreshAll_WhenSidecarUnavailable_ShouldKeepCachedValue() {
+        // Arrange
+        when(daprClient.getSecret("secretstore", "jwt:secret")).thenReturn(Mono.just(Map.of("jwt:secret", "v1")));
+        assertEquals("v1", secretManager.getJwtSecret());
+        when(daprClient.getSecret(anyString(), anyString())).thenReturn(Mono.error(new RuntimeException("sidecar down")));
+
+        // Act
+        secretManager.refreshAll();
+
+        // Assert
+        assertEquals("v1", secretManager.getJwtSecret());
+    }
+
+    @Test
+    void refreshAll_WhenSecretFellBackToEnvironment_ShouldPreferDaprOnceAvailable() {
+        // Arrange: sidecar not ready at boot, so the value comes from the environment
+        when(daprClient.getSecret(anyString(), anyString())).thenReturn(Mono.error(new RuntimeException("sidecar starting")));
+        when(environment.getProperty("JWT_SECRET")).thenReturn("from-env");
+        assertEquals("from-env", secretManager.getJwtSecret());
+        when(daprClient.getSecret("secretstore", "jwt:secret")).thenReturn(Mono.just(Map.of("jwt:secret", "rotated")));
+
+        // Act
+        secretManager.refreshAll();
+
+        // Assert
+        assertEquals("rotated", secretManager.getJwtSecret());
+    }
+
+    @Test
+    void lookupOrder_ShouldKeepDaprFormatsBeforeEnvironmentFormats() {
+        assertEquals(List.of(KeyFormat.DASH, KeyFormat.COLON, KeyFormat.ENV_UPPER, KeyFormat.ENV_LOWER),
+            KeyFormat.lookupOrder(KeyFormat.DASH));
+        assertEquals(List.of(KeyFormat.COLON, KeyFormat.DASH, KeyFormat.ENV_LOWER, KeyFormat.ENV_UPPER),
+            KeyFormat.lookupOrder(KeyFormat.ENV_LOWER));
+        assertEquals(List.of(KeyFormat.values()), KeyFormat.lookupOrder(null));
+    }
+}
@@ -0,0 +1,53 @@
+package com.xshopai.orderprocessor.command;
+
+import com.xshopai.orderprocessor.exception.SagaProcessingException;
+import com.xshopai.orderprocessor.service.SagaBulkImportService;
+import com.xshopai.orderprocessor.service.SagaBulkImportService.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SagaImportCommandTest {
+
+    @Mock
+    private SagaBulkImportService importService;
+
+    private SagaImportCommand command;
+
+    @BeforeEach
+    void setUp() {
+        command = new SagaImportCommand(importService);
+        ReflectionTestUtils.setField(command, "importFile", "/data/orders.ndjson");
+    }
+
+    @Test
+    void run_ShouldExitWithZero_WhenImportSucceeds() {
+        when(importService.importFile(Path.of("/data/orders.ndjson")))
+            .thenReturn(new ImportResult(10, 10, 0, 10, Duration.ofSeconds(1)));
+
+        command.run(new DefaultApplicationArguments());
+
+        assertEquals(0, command.getExitCode());
+    }
+
+    @Test
+    void run_ShouldExitWithOne_WhenImportFails() {
+        when(importService.importFile(any())).thenThrow(new SagaProcessingException("bad input"));
+
+        command.run(new DefaultApplicationArguments());
+
+        assertEquals(1, command.getExitCode());
+    }
+}
@@ -0,0 +1,141 @@
+package com.xshopai.orderprocessor.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PoolAutoSizerTest {
+
+    private static final String POOL = "ingestion";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @Mock
+    private HikariDataSource pool;
+
+    @Mock
+    private HikariPoolMXBean poolBean;
+
+    @Mock
+    private HikariConfigMXBean configBean;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger currentSize = new AtomicInteger();
+
+    @Test
+    void resize_ShouldGrowByWaitingThreads_UpToMaxPoolSize() throws Exception {
+        // Arrange
+        PoolAutoSizer autoSizer = autoSizer(10, 10, 12);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(5);
+
+        // Act
+        autoSizer.resize();
+        autoSizer.resize();
+
+        // Assert
+        assertEquals(12, currentSize.get());
+        verify(configBean, times(1)).setMaximumPoolSize(anyInt());
+    }
+
+    @Test
+    void resize_ShouldGrow_WhenMeanAcquireWaitExceedsTarget() throws Exception {
+        // Arrange
+        PoolAutoSizer autoSizer = autoSizer(10, 10, 30);
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", POOL).register(meterRegistry);
+        acquire.record(Duration.ofMillis(200));
+
+        // Act
+        autoSizer.resize();
+
+        // Assert
+        assertEquals(11, currentSize.get());
+    }
+
+    @Test
+    void resize_ShouldShrinkAfterQuietIntervals_ButNotBelowConfiguredSize() throws Exception {
+        // Arrange: configured at 10, currently grown to 12, idle
+        PoolAutoSizer autoSizer = autoSizer(10, 12, 30);
+
+        // Act & Assert
+        autoSizer.resize();
+        assertEquals(12, currentSize.get());
+        autoSizer.resize();
+        assertEquals(11, currentSize.get());
+        for (int i = 0; i < 10; i++) {
+            autoSizer.resize();
+        }
+        assertEquals(10, currentSize.get());
+    }
+
+    @Test
+    void resize_WithSingleConnectionPool_ShouldGrowAndReturnToOne() throws Exception {
+        // Arrange
+        PoolAutoSizer autoSizer = autoSizer(1, 1, 30);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(1, 0);
+
+        // Act & Assert
+        autoSizer.resize();
+        assertEquals(2, currentSize.get());
+        for (int i = 0; i < 10; i++) {
+            autoSizer.resize();
+        }
+        assertEquals(1, currentSize.get());
+    }
+
+    @Test
+    void resize_ShouldSkipPoolNotStartedYet() throws Exception {
+        // Arrange
+        PoolAutoSizer autoSizer = autoSizer(10, 10, 30);
+        when(pool.getHikariPoolMXBean()).thenReturn(null);
+
+        // Act
+        autoSizer.resize();
+
+        // Assert
+        verify(configBean, never()).setMaximumPoolSize(anyInt());
+    }
+
+    private PoolAutoSizer autoSizer(int configuredSize, int currentPoolSize, int maxPoolSize) throws Exception {
+        when(dataSource.unwrap(WorkloadRoutingDataSource.class)).thenReturn(routingDataSource);
+        when(routingDataSource.getPools()).thenReturn(Map.of(POOL, pool));
+        when(pool.getMaximumPoolSize()).thenReturn(configuredSize);
+        when(pool.getHikariPoolMXBean()).thenReturn(poolBean);
+        when(pool.getHikariConfigMXBean()).thenReturn(configBean);
+        currentSize.set(currentPoolSize);
+        when(configBean.getMaximumPoolSize()).thenAnswer(invocation -> currentSize.get());
+        doAnswer(invocation -> {
+            currentSize.set(invocation.getArgument(0));
+            return null;
+        }).when(configBean).setMaximumPoolSize(anyInt());
+
+        PoolAutoSizer autoSizer = new PoolAutoSizer(dataSource, meterRegistry);
+        ReflectionTestUtils.setField(autoSizer, "maxPoolSize", maxPoolSize);
+        ReflectionTestUtils.setField(autoSizer, "targetWait", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(autoSizer, "shrinkAfterIntervals", 2);
+        return autoSizer;
+    }
+}
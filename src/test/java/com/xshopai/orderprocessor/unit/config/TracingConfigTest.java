@@ -0,0 +1,48 @@
+package com.xshopai.orderprocessor.config;
+
+import com.xshopai.orderprocessor.tracing.SlowTraceSpanProcessor;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(
+            org.springframework.boot.actuate.autoconfigure.opentelemetry.OpenTelemetryAutoConfiguration.class,
+            OpenTelemetryAutoConfiguration.class))
+        .withUserConfiguration(TracingConfig.class)
+        // As in SpringApplication, so @Value durations like 500ms convert
+        .withInitializer(context -> context.getBeanFactory()
+            .setConversionService(ApplicationConversionService.getSharedInstance()));
+
+    @Test
+    void slowExport_ShouldRouteExportingProcessorThroughSlowTraceProcessor() {
+        contextRunner.withPropertyValues("saga.tracing.export=slow").run(context -> {
+            // The exporting processor keeps its type for anything injecting it
+            BatchSpanProcessor exporting = context.getBean(BatchSpanProcessor.class);
+            SlowTraceSpanProcessor slow = context.getBean(SlowTraceSpanProcessor.class);
+
+            List<SpanProcessor> registered = context.getBean(SpanProcessors.class).list();
+            assertTrue(registered.contains(slow));
+            assertFalse(registered.contains(exporting));
+        });
+    }
+
+    @Test
+    void allExport_ShouldKeepBootSpanProcessors() {
+        contextRunner.withPropertyValues("saga.tracing.export=all").run(context -> {
+            assertTrue(context.getBeansOfType(SlowTraceSpanProcessor.class).isEmpty());
+            assertTrue(context.getBean(SpanProcessors.class).list().contains(context.getBean(BatchSpanProcessor.class)));
+        });
+    }
+}
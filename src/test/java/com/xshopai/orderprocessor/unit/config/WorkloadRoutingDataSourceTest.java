@@ -0,0 +1,159 @@
+package com.xshopai.orderprocessor.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkloadRoutingDataSourceTest {
+
+    @Mock
+    private HikariDataSource ingestionPool;
+
+    @Mock
+    private HikariDataSource backgroundPool;
+
+    @Mock
+    private HikariDataSource adminPool;
+
+    @Mock
+    private HikariDataSource replicaPool;
+
+    @Mock
+    private Connection ingestionConnection;
+
+    @Mock
+    private Connection backgroundConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private Statement lagStatement;
+
+    @Mock
+    private ResultSet lagResult;
+
+    private WorkloadRoutingDataSource routingDataSource;
+    private DatabaseWorkload previousWorkload;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(ingestionPool.getConnection()).thenReturn(ingestionConnection);
+        when(backgroundPool.getConnection()).thenReturn(backgroundConnection);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(lagStatement);
+        when(lagStatement.executeQuery(anyString())).thenReturn(lagResult);
+        when(lagResult.next()).thenReturn(true);
+        previousWorkload = DatabaseWorkload.enter(DatabaseWorkload.INGESTION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DatabaseWorkload.restore(previousWorkload);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @Test
+    void getConnection_InWriteTransaction_ShouldUseWorkloadPool() throws SQLException {
+        // Arrange
+        routingDataSource = routing(replicaPool);
+        routingDataSource.checkReplica();
+
+        // Act & Assert
+        assertTrue(routingDataSource.isReplicaAvailable());
+        assertSame(ingestionConnection, routingDataSource.getConnection());
+        assertEquals(DatabaseWorkload.INGESTION, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldUseReplica() throws SQLException {
+        // Arrange
+        routingDataSource = routing(replicaPool);
+        routingDataSource.checkReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertEquals(WorkloadRoutingDataSource.REPLICA_POOL, routingDataSource.determineCurrentLookupKey());
+        verify(ingestionPool, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransactionWithoutReplica_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        routingDataSource = routing(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertSame(ingestionConnection, routingDataSource.getConnection());
+        assertFalse(routingDataSource.getPools().containsKey(WorkloadRoutingDataSource.REPLICA_POOL));
+    }
+
+    @Test
+    void getConnection_WhenReplicaLagsBehind_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        when(lagResult.getDouble(1)).thenReturn(30.0);
+        routingDataSource = routing(replicaPool);
+        routingDataSource.checkReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertSame(ingestionConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WhenReplicaConnectionFails_ShouldFallBackToPrimary() throws SQLException {
+        // Arrange
+        routingDataSource = routing(replicaPool);
+        routingDataSource.checkReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaPool.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // Act & Assert
+        assertSame(ingestionConnection, routingDataSource.getConnection());
+        assertFalse(routingDataSource.isReplicaAvailable());
+    }
+
+    @Test
+    void getConnection_WithoutDeclaredWorkload_ShouldUseBackgroundPool() throws SQLException {
+        // Arrange
+        routingDataSource = routing(null);
+        DatabaseWorkload.restore(null);
+
+        // Act & Assert
+        assertSame(backgroundConnection, routingDataSource.getConnection());
+    }
+
+    private WorkloadRoutingDataSource routing(HikariDataSource replica) {
+        return new WorkloadRoutingDataSource(Map.of(
+                DatabaseWorkload.INGESTION, ingestionPool,
+                DatabaseWorkload.BACKGROUND, backgroundPool,
+                DatabaseWorkload.ADMIN, adminPool),
+            replica, Duration.ofSeconds(10), Duration.ofHours(1));
+    }
+}
@@ -1,7 +1,16 @@
 package com.xshopai.orderprocessor.controller;
 
+import com.xshopai.orderprocessor.model.dto.CursorPage;
+import com.xshopai.orderprocessor.model.dto.SagaCursor;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.dto.SagaSummary;
 import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
 import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import com.xshopai.orderprocessor.security.JwtService;
+import com.xshopai.orderprocessor.service.SagaExportService;
+import com.xshopai.orderprocessor.service.SagaStatusCounters;
+import com.xshopai.orderprocessor.service.SagaTransitionBroadcaster;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
@@ -13,14 +22,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +52,21 @@ class AdminControllerTest {
     @MockBean
     private OrderProcessingSagaRepository sagaRepository;
 
+    @MockBean
+    private SagaStatusCounters statusCounters;
+
+    @MockBean
+    private SagaQueryRepository sagaQueryRepository;
+
+    @MockBean
+    private SagaExportService sagaExportService;
+
+    @MockBean
+    private SagaTransitionBroadcaster transitionBroadcaster;
+
+    @MockBean
+    private JwtService jwtService;
+
     @Test
     void getAllSagas_ShouldReturnPagedSagas() throws Exception {
         // Arrange
@@ -93,6 +127,40 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    void getSagaById_ShouldReturnETagFromVersion() throws Exception {
+        // Arrange
+        UUID sagaId = UUID.randomUUID();
+        OrderProcessingSaga saga = new OrderProcessingSaga();
+        saga.setId(sagaId);
+        saga.setOrderId(UUID.randomUUID());
+        saga.setVersion(3);
+
+        when(sagaRepository.findById(sagaId)).thenReturn(Optional.of(saga));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/sagas/{id}", sagaId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + sagaId + "-3\""));
+    }
+
+    @Test
+    void getSagaById_WhenETagMatches_ShouldReturn304WithoutLoadingSaga() throws Exception {
+        // Arrange
+        UUID sagaId = UUID.randomUUID();
+        OrderProcessingSagaRepository.SagaVersion version = new OrderProcessingSagaRepository.SagaVersion() {
+            public UUID getId() { return sagaId; }
+            public Integer getVersion() { return 3; }
+        };
+        when(sagaRepository.findVersionById(sagaId)).thenReturn(Optional.of(version));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/sagas/{id}", sagaId).header("If-None-Match", "\"" + sagaId + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + sagaId + "-3\""));
+        verify(sagaRepository, never()).findById(any());
+    }
+
     @Test
     void getSagaById_WhenSagaNotExists_ShouldReturn404() throws Exception {
         // Arrange
@@ -145,26 +213,131 @@ class AdminControllerTest {
     @Test
     void getSagaStats_ShouldReturnStatusCounts() throws Exception {
         // Arrange
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CREATED)).thenReturn(5L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION)).thenReturn(3L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED)).thenReturn(2L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION)).thenReturn(1L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPLETED)).thenReturn(15L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.CANCELLED)).thenReturn(2L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPENSATING)).thenReturn(1L);
-        when(sagaRepository.countByStatus(OrderProcessingSaga.SagaStatus.COMPENSATED)).thenReturn(1L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.CREATED)).thenReturn(5L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.PENDING_PAYMENT_CONFIRMATION)).thenReturn(3L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.PAYMENT_CONFIRMED)).thenReturn(2L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.PENDING_SHIPPING_PREPARATION)).thenReturn(1L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.COMPLETED)).thenReturn(15L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.CANCELLED)).thenReturn(2L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.COMPENSATING)).thenReturn(1L);
+        when(statusCounters.get(OrderProcessingSaga.SagaStatus.COMPENSATED)).thenReturn(1L);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/admin/sagas/stats"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.STARTED").value(5))
-                .andExpect(jsonPath("$.PAYMENT_PROCESSING").value(3))
-                .andExpect(jsonPath("$.INVENTORY_PROCESSING").value(2))
-                .andExpect(jsonPath("$.SHIPPING_PROCESSING").value(1))
+                .andExpect(jsonPath("$.CREATED").value(5))
+                .andExpect(jsonPath("$.PENDING_PAYMENT_CONFIRMATION").value(3))
+                .andExpect(jsonPath("$.PAYMENT_CONFIRMED").value(2))
+                .andExpect(jsonPath("$.PENDING_SHIPPING_PREPARATION").value(1))
                 .andExpect(jsonPath("$.COMPLETED").value(15))
-                .andExpect(jsonPath("$.FAILED").value(2))
+                .andExpect(jsonPath("$.CANCELLED").value(2))
                 .andExpect(jsonPath("$.COMPENSATING").value(1))
                 .andExpect(jsonPath("$.COMPENSATED").value(1));
+
+        verifyNoInteractions(sagaRepository);
+    }
+
+    @Test
+    void getSagasByCursor_ShouldDecodeCursorAndReturnNextCursor() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        SagaCursor cursor = new SagaCursor(createdAt, UUID.randomUUID());
+        SagaSummary summary = new SagaSummary(UUID.randomUUID(), UUID.randomUUID(), "ORD-004", "customer-1",
+                OrderProcessingSaga.SagaStatus.COMPLETED, OrderProcessingSaga.ProcessingStep.COMPLETED,
+                new BigDecimal("20.00"), "USD", null, createdAt.minusMinutes(1), createdAt, createdAt);
+        String nextCursor = new SagaCursor(summary.createdAt(), summary.id()).encode();
+
+        when(sagaQueryRepository.findPage(
+                eq(new SagaSearchCriteria(OrderProcessingSaga.SagaStatus.COMPLETED, null)), eq(cursor), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(summary), nextCursor, true));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/sagas/cursor")
+                .param("status", "COMPLETED")
+                .param("cursor", cursor.encode())
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].orderNumber").value("ORD-004"))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getSagasByCursor_WithMalformedCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/sagas/cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSagasByCursor_WithNonBase64Cursor_ShouldReturn400WithoutEchoingTheError() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/sagas/cursor").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The request parameters are invalid"));
+    }
+
+    @Test
+    void getSagasByCursor_WhenQueryFailsWithIllegalArgument_ShouldReturn500() throws Exception {
+        // Arrange
+        when(sagaQueryRepository.findPage(any(), any(), eq(50))).thenThrow(new IllegalArgumentException("internal detail"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/sagas/cursor"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void searchSagas_ShouldPassAllFiltersToQuery() throws Exception {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        SagaSearchCriteria expected = new SagaSearchCriteria(OrderProcessingSaga.SagaStatus.CANCELLED,
+                "customer-1", "product-42", from, to, "card declined");
+
+        when(sagaQueryRepository.findPage(eq(expected), eq(null), eq(50)))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/admin/sagas/search")
+                .param("productId", "product-42")
+                .param("customerId", "customer-1")
+                .param("status", "CANCELLED")
+                .param("from", "2025-01-01T00:00:00")
+                .param("to", "2025-02-01T00:00:00")
+                .param("error", " card declined "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void exportSagas_ShouldStreamWithExportTimeout() throws Exception {
+        // Arrange
+        when(sagaExportService.export(any(), eq(SagaExportService.ExportFormat.NDJSON), eq(false), any()))
+            .thenAnswer(invocation -> {
+                invocation.getArgument(3, OutputStream.class).write("{\"orderNumber\":\"ORD-001\"}\n".getBytes());
+                return 1L;
+            });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/sagas/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(".ndjson")))
+                .andExpect(content().string(containsString("ORD-001")));
+    }
+
+    @Test
+    void streamSagaTransitions_AtSubscriberLimit_ShouldReturn503() throws Exception {
+        when(transitionBroadcaster.subscribe()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/admin/sagas/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
     }
 }
@@ -0,0 +1,108 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.xshopai.orderprocessor.logging.CountingAsyncAppender;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import com.xshopai.orderprocessor.logging.EventSummary.Phase;
+import com.xshopai.orderprocessor.model.dto.SlowEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPhaseProfilerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPhaseProfilerTest.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventPhaseProfiler profiler = new EventPhaseProfiler(meterRegistry, 2, Duration.ofMinutes(15), 5);
+
+    @Test
+    void record_ShouldPublishPerTopicPhaseTimers() {
+        // Arrange
+        EventSummary.recordDeserialization(TimeUnit.MILLISECONDS.toNanos(1));
+        EventSummary summary = EventSummary.begin("payment.processed", "evt-1");
+        EventSummary.recordPhase(Phase.DB, TimeUnit.MILLISECONDS.toNanos(3));
+        EventSummary.recordPhase(Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+        summary.finish(log, "ok");
+
+        // Act
+        profiler.record(summary);
+
+        // Assert
+        Timer db = meterRegistry.get("saga.event.phase").tags("topic", "payment.processed", "phase", "db").timer();
+        assertEquals(5.0, db.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        Timer deserialize = meterRegistry.get("saga.event.phase")
+            .tags("topic", "payment.processed", "phase", "deserialize").timer();
+        assertEquals(1, deserialize.count());
+        Timer publish = meterRegistry.get("saga.event.phase")
+            .tags("topic", "payment.processed", "phase", "publish").timer();
+        assertEquals(0, publish.count());
+    }
+
+    @Test
+    void record_ShouldPublishLogPhase_ForEventsEnqueuedDuringTheEvent() {
+        // Arrange
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ListAppender<ILoggingEvent> sink = new ListAppender<>();
+        sink.setContext(context);
+        sink.start();
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(context);
+        async.setName("phase-test");
+        async.addAppender(sink);
+        async.start();
+
+        EventSummary summary = EventSummary.begin("payment.processed", "evt-log");
+        try {
+            async.doAppend(new LoggingEvent(getClass().getName(), context.getLogger("test"),
+                Level.INFO, "handled", null, null));
+        } finally {
+            summary.finish(log, "ok");
+            async.stop();
+        }
+
+        // Act
+        profiler.record(summary);
+
+        // Assert
+        assertTrue(summary.phaseNanos(Phase.LOG) > 0);
+        Timer logPhase = meterRegistry.get("saga.event.phase").tags("topic", "payment.processed", "phase", "log").timer();
+        assertEquals(1, logPhase.count());
+        assertEquals(summary.phaseNanos(Phase.LOG), logPhase.totalTime(TimeUnit.NANOSECONDS), 0.001);
+    }
+
+    @Test
+    void slowest_ShouldKeepOnlySlowestEventsSlowestFirst() throws InterruptedException {
+        // Arrange
+        profiler.record(finishedEvent("evt-fast", 0));
+        profiler.record(finishedEvent("evt-slow", 200));
+        profiler.record(finishedEvent("evt-medium", 100));
+        profiler.record(finishedEvent("evt-fastest", 0));
+
+        // Act
+        List<SlowEvent> slowest = profiler.slowest(10);
+
+        // Assert
+        assertEquals(List.of("evt-slow", "evt-medium"), slowest.stream().map(SlowEvent::eventId).toList());
+        assertEquals(1, profiler.slowest(1).size());
+    }
+
+    private static EventSummary finishedEvent(String eventId, long sleepMillis) throws InterruptedException {
+        EventSummary summary = EventSummary.begin("order.created", eventId);
+        Thread.sleep(sleepMillis);
+        summary.finish(log, "ok");
+        return summary;
+    }
+}
@@ -0,0 +1,118 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import com.xshopai.orderprocessor.model.dto.EventResourceUsage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventResourceProfilerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+        .withProperty("diagnostics.allocation.baseline.[payment.processed]", "1KB");
+    private final EventResourceProfiler profiler = new EventResourceProfiler(meterRegistry, environment, 0.25, 3);
+
+    @Test
+    void record_ShouldPublishPerTopicAllocationAndCpu() {
+        // Act
+        EventResourceProfiler.Sample sample = profiler.start();
+        byte[][] allocated = allocate(16, 64 * 1024);
+        profiler.record("order.created", sample);
+
+        // Assert
+        assertEquals(16, allocated.length);
+        DistributionSummary summary = meterRegistry.get("saga.event.allocated").tag("topic", "order.created").summary();
+        assertEquals(1, summary.count());
+        assertTrue(summary.totalAmount() >= 16 * 64 * 1024, "allocated " + summary.totalAmount());
+        assertEquals(1, meterRegistry.get("saga.event.cpu").tag("topic", "order.created").timer().count());
+    }
+
+    @Test
+    void usage_ShouldFlagTopicAllocatingMoreThanBaseline() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            EventResourceProfiler.Sample sample = profiler.start();
+            allocate(4, 8 * 1024);
+            profiler.record("payment.processed", sample);
+        }
+
+        // Assert
+        List<EventResourceUsage> usage = profiler.usage();
+        assertEquals(1, usage.size());
+        assertEquals(1024L, usage.get(0).baselineBytesPerEvent());
+        assertTrue(usage.get(0).regressed());
+        assertEquals(1.0, meterRegistry.get("saga.event.allocation.regressed")
+            .tag("topic", "payment.processed").gauge().value());
+    }
+
+    @Test
+    void usage_ShouldNotFlagTopicWithoutBaseline() {
+        for (int i = 0; i < 3; i++) {
+            EventResourceProfiler.Sample sample = profiler.start();
+            allocate(4, 8 * 1024);
+            profiler.record("order.cancelled", sample);
+        }
+
+        EventResourceUsage usage = profiler.usage().get(0);
+        assertNull(usage.baselineBytesPerEvent());
+        assertFalse(usage.regressed());
+        assertTrue(meterRegistry.find("saga.event.allocation.regressed").gauges().isEmpty());
+    }
+
+    @Test
+    void usage_ShouldClearRegression_WhenRecentAllocationFallsBack() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            recordAllocating("payment.processed", 4);
+        }
+        assertTrue(profiler.usage().get(0).regressed());
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            recordAllocating("payment.processed", 0);
+        }
+
+        // Assert
+        assertFalse(profiler.usage().get(0).regressed());
+        assertEquals(0.0, meterRegistry.get("saga.event.allocation.regressed")
+            .tag("topic", "payment.processed").gauge().value());
+    }
+
+    @Test
+    void usage_ShouldFlagRecentRegression_AfterLongQuietHistory() {
+        // Arrange: enough light events that the mean since startup stays under the baseline
+        for (int i = 0; i < 500; i++) {
+            recordAllocating("payment.processed", 0);
+        }
+        assertFalse(profiler.usage().get(0).regressed());
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            recordAllocating("payment.processed", 4);
+        }
+
+        // Assert
+        EventResourceUsage usage = profiler.usage().get(0);
+        assertTrue(usage.allocatedBytesPerEvent() < 1024, "mean since startup " + usage.allocatedBytesPerEvent());
+        assertTrue(usage.regressed());
+    }
+
+    private void recordAllocating(String topic, int chunks) {
+        EventResourceProfiler.Sample sample = profiler.start();
+        allocate(chunks, 8 * 1024);
+        profiler.record(topic, sample);
+    }
+
+    private static byte[][] allocate(int chunks, int size) {
+        byte[][] data = new byte[chunks][];
+        for (int i = 0; i < chunks; i++) {
+            data[i] = new byte[size];
+        }
+        return data;
+    }
+}
@@ -0,0 +1,135 @@
+package com.xshopai.orderprocessor.diagnostics;
+
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Counts;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Kind;
+import com.xshopai.orderprocessor.support.StatementBudget;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCounterTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = StatementCounter.countingDataSource(h2, "test");
+        execute("CREATE TABLE saga (id INT PRIMARY KEY, status VARCHAR(32))");
+    }
+
+    @Test
+    void verify_ShouldCountStatementsBatchesAndRowsByKind() {
+        // Act
+        Counts counts = StatementBudget.atMost(5).verify(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement insert = connection.prepareStatement("INSERT INTO saga VALUES (?, 'STARTED')")) {
+                for (int id = 1; id <= 3; id++) {
+                    insert.setInt(1, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            update("UPDATE saga SET status = 'COMPLETED' WHERE id < 3");
+            execute("SELECT * FROM saga");
+        });
+
+        // Assert
+        assertEquals(5, counts.statements());
+        assertEquals(3, counts.statements(Kind.INSERT));
+        assertEquals(1, counts.statements(Kind.UPDATE));
+        assertEquals(1, counts.statements(Kind.SELECT));
+        assertEquals(1, counts.batches());
+        assertEquals(5, counts.rowsWritten());
+    }
+
+    @Test
+    void verify_ShouldFail_WhenBudgetExceeded() {
+        AssertionError error = assertThrows(AssertionError.class, () -> StatementBudget.atMost(10)
+            .atMost(Kind.UPDATE, 1)
+            .verify(() -> {
+                update("UPDATE saga SET status = 'FAILED'");
+                update("UPDATE saga SET status = 'COMPENSATED'");
+            }));
+
+        assertTrue(error.getMessage().contains("at most 1 update statements"), error.getMessage());
+    }
+
+    @Test
+    void verify_ShouldFail_WhenSameSelectRepeats() {
+        AssertionError error = assertThrows(AssertionError.class, () -> StatementBudget.atMost(10)
+            .noRepeatedSelects()
+            .verify(() -> {
+                for (int id = 1; id <= 3; id++) {
+                    query(id);
+                }
+            }));
+
+        assertTrue(error.getMessage().contains("query ran 3 times"), error.getMessage());
+    }
+
+    @Test
+    void end_ShouldAddNestedCountsToEnclosingScope() {
+        // Arrange
+        Counts outer = StatementCounter.begin();
+        update("DELETE FROM saga");
+
+        // Act
+        Counts inner = StatementCounter.begin();
+        execute("SELECT 1");
+        StatementCounter.end(inner);
+        StatementCounter.end(outer);
+        execute("SELECT 2");
+
+        // Assert
+        assertEquals(1, inner.statements());
+        assertEquals(2, outer.statements());
+        assertEquals(1, outer.statements(Kind.DELETE));
+    }
+
+    @Test
+    void kindOf_ShouldReadLeadingKeyword() {
+        assertEquals(Kind.SELECT, StatementCounter.kindOf("  select s1_0.id from order_processing_saga s1_0"));
+        assertEquals(Kind.SELECT, StatementCounter.kindOf("WITH stuck AS (SELECT 1) SELECT * FROM stuck"));
+        assertEquals(Kind.UPDATE, StatementCounter.kindOf("update order_processing_saga set status=?"));
+        assertEquals(Kind.OTHER, StatementCounter.kindOf("SET LOCAL statement_timeout = 5000"));
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void update(String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void query(int id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT status FROM saga WHERE id = ?")) {
+            select.setInt(1, id);
+            select.executeQuery().close();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
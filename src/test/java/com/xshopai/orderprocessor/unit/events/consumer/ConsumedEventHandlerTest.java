@@ -0,0 +1,93 @@
+package com.xshopai.orderprocessor.events.consumer;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.xshopai.orderprocessor.diagnostics.EventPhaseProfiler;
+import com.xshopai.orderprocessor.diagnostics.EventResourceProfiler;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import io.dapr.client.domain.CloudEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsumedEventHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventPhaseProfiler phaseProfiler = new EventPhaseProfiler(meterRegistry, 10, Duration.ofMinutes(15), 5);
+    private final ConsumedEventHandler eventHandler = new ConsumedEventHandler(ObservationRegistry.NOOP, phaseProfiler,
+        new EventResourceProfiler(meterRegistry, new MockEnvironment(), 0.25, 3));
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ConsumedEventHandler.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    void handle_ShouldWriteOneSummaryLineWithEventFacts() {
+        // Act
+        ResponseEntity<Void> response = eventHandler.handle("payment.processed", cloudEvent("evt-1"),
+            data -> EventSummary.put("orderId", data));
+
+        // Assert
+        assertEquals(200, response.getStatusCode().value());
+        String line = summaryLine();
+        assertTrue(line.startsWith("Processed event {topic=payment.processed, eventId=evt-1, orderId=order-1"), line);
+        assertTrue(line.contains("outcome=ok"), line);
+        assertTrue(line.contains("statements=0"), line);
+        assertTrue(line.contains("totalMs="), line);
+    }
+
+    @Test
+    void handle_ShouldStillWriteSummary_WhenHandlerFails() {
+        // Act
+        ResponseEntity<Void> response = eventHandler.handle("payment.processed", cloudEvent("evt-2"), data -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Assert
+        assertEquals(500, response.getStatusCode().value());
+        assertTrue(summaryLine().contains("outcome=error"));
+        assertEquals(1, phaseProfiler.slowest(10).size());
+    }
+
+    private String summaryLine() {
+        List<String> lines = appender.list.stream()
+            .map(ILoggingEvent::getFormattedMessage)
+            .filter(message -> message.startsWith("Processed event"))
+            .toList();
+        assertEquals(1, lines.size(), "summary lines " + lines);
+        return lines.get(0);
+    }
+
+    private static CloudEvent<String> cloudEvent(String id) {
+        CloudEvent<String> cloudEvent = new CloudEvent<>();
+        cloudEvent.setId(id);
+        cloudEvent.setData("order-1");
+        return cloudEvent;
+    }
+}
@@ -0,0 +1,25 @@
+package com.xshopai.orderprocessor.events.publisher;
+
+import com.xshopai.orderprocessor.model.events.PaymentProcessingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaprEventPublisherTest {
+
+    @Test
+    void orderIdOf_ShouldReadMapPayloadsAndEventClasses() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        PaymentProcessingEvent paymentEvent = new PaymentProcessingEvent();
+        paymentEvent.setOrderId(orderId);
+
+        // Act & Assert
+        assertEquals(orderId, DaprEventPublisher.paymentRefund(orderId, "pay-1").orderId());
+        assertEquals(orderId, DaprEventPublisher.orderIdOf(paymentEvent));
+        assertNull(DaprEventPublisher.orderIdOf("not an event"));
+        assertNull(DaprEventPublisher.orderIdOf(null));
+    }
+}
@@ -0,0 +1,102 @@
+package com.xshopai.orderprocessor.filter;
+
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import com.xshopai.orderprocessor.logging.EventSummary;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaprIngressFilterTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final DaprIngressFilter filter = new DaprIngressFilter("sidecar-token");
+
+    @Test
+    void doFilter_WithValidToken_ShouldRunOnIngestionPoolWithTraceContext() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/dapr/events/order-created");
+        request.addHeader("dapr-api-token", "sidecar-token");
+        request.addHeader("traceparent", TRACEPARENT);
+        AtomicReference<DatabaseWorkload> workload = new AtomicReference<>();
+        AtomicReference<String> traceId = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                workload.set(DatabaseWorkload.current());
+                traceId.set(MDC.get("traceId"));
+            }
+        });
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(DatabaseWorkload.INGESTION, workload.get());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", traceId.get());
+        assertNull(MDC.get("traceId"));
+    }
+
+    @Test
+    void doFilter_WithoutToken_ShouldRejectDelivery() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/dapr/events/order-created");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_WhenDispatchFailsAfterBinding_ShouldClearPendingDeserialization() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/dapr/events/order-created");
+        request.addHeader("dapr-api-token", "sidecar-token");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                EventSummary.recordDeserialization(TimeUnit.MILLISECONDS.toNanos(5));
+                throw new IllegalStateException("dispatch failed");
+            }
+        });
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+
+        // Assert
+        EventSummary next = EventSummary.begin("order.created", "evt-next");
+        next.finish(LoggerFactory.getLogger(DaprIngressFilterTest.class), "ok");
+        assertEquals(0, next.phaseNanos(EventSummary.Phase.DESERIALIZE));
+    }
+
+    @Test
+    void doFilter_ForNonDaprPath_ShouldPassThroughUntouched() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/sagas");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,94 @@
+package com.xshopai.orderprocessor.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.xshopai.orderprocessor.logging.CountingAsyncAppender.DropReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingAsyncAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountingAsyncAppender appender = new CountingAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void append_ShouldCountThresholdAndQueueFullDrops() throws InterruptedException {
+        // Arrange: the worker blocks on the first event, leaving a queue of 4 with threshold 2
+        start("counting-test", 4, 2);
+        appender.doAppend(event(Level.INFO));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        appender.doAppend(event(Level.INFO));   // queued, 3 left
+        appender.doAppend(event(Level.INFO));   // queued, 2 left
+        appender.doAppend(event(Level.INFO));   // queued, 1 left
+        appender.doAppend(event(Level.INFO));   // below threshold: dropped
+        appender.doAppend(event(Level.WARN));   // not discardable: queued, 0 left
+        appender.doAppend(event(Level.ERROR));  // queue full with neverBlock: dropped
+
+        // Assert
+        Map<DropReason, LongAdder> drops = CountingAsyncAppender.dropCounts().get("counting-test");
+        assertEquals(1, drops.get(DropReason.THRESHOLD).sum());
+        assertEquals(1, drops.get(DropReason.QUEUE_FULL).sum());
+    }
+
+    @Test
+    void append_ShouldNotCount_WhenQueueHasRoom() throws InterruptedException {
+        start("counting-test-room", 16, 2);
+
+        appender.doAppend(event(Level.INFO));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        appender.doAppend(event(Level.DEBUG));
+
+        Map<DropReason, LongAdder> drops = CountingAsyncAppender.dropCounts().get("counting-test-room");
+        assertEquals(0, drops.get(DropReason.THRESHOLD).sum());
+        assertEquals(0, drops.get(DropReason.QUEUE_FULL).sum());
+    }
+
+    private void start(String name, int queueSize, int discardingThreshold) {
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocking.setContext(context);
+        blocking.start();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent(CountingAsyncAppenderTest.class.getName(),
+            context.getLogger(CountingAsyncAppenderTest.class), level, "message", null, null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.xshopai.orderprocessor.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRateLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldAllowPermitsPerWindowAndCountTheRest() {
+        // Arrange
+        LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofHours(1));
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.drainSuppressed());
+        assertEquals(0, limiter.drainSuppressed());
+    }
+
+    @Test
+    void tryAcquire_AfterWindowElapses_ShouldAllowAgain() throws InterruptedException {
+        // Arrange
+        LogRateLimiter limiter = new LogRateLimiter(1, Duration.ofMillis(20));
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // Act
+        Thread.sleep(30);
+
+        // Assert
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1, limiter.drainSuppressed());
+    }
+}
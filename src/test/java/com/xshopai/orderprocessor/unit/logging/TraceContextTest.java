@@ -0,0 +1,74 @@
+package com.xshopai.orderprocessor.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void wrap_ShouldRunTaskWithCallersContextOnAnotherThread() throws Exception {
+        // Arrange
+        TraceContext context = TraceContext.newRoot();
+        AtomicReference<TraceContext> seen = new AtomicReference<>();
+        AtomicReference<String> mdcTraceId = new AtomicReference<>();
+        Runnable task;
+        try (TraceContext.Scope ignored = context.open()) {
+            task = TraceContext.wrap(() -> {
+                seen.set(TraceContext.current());
+                mdcTraceId.set(MDC.get("traceId"));
+            });
+        }
+
+        // Act
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(task).get();
+            // Assert the worker thread is clean again afterwards
+            assertNull(executor.submit(TraceContext::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertSame(context, seen.get());
+        assertEquals(context.traceId(), mdcTraceId.get());
+    }
+
+    @Test
+    void open_ShouldRestorePreviousContextOnClose() {
+        // Arrange
+        TraceContext outer = TraceContext.newRoot();
+        TraceContext inner = TraceContext.newRoot();
+
+        // Act & Assert
+        try (TraceContext.Scope ignored = outer.open()) {
+            try (TraceContext.Scope nested = inner.open()) {
+                assertSame(inner, TraceContext.current());
+                assertEquals(inner.correlationId(), MDC.get("correlationId"));
+            }
+            assertSame(outer, TraceContext.current());
+            assertEquals(outer.traceId(), MDC.get("traceId"));
+        }
+        assertNull(TraceContext.current());
+        assertNull(MDC.get("traceId"));
+    }
+
+    @Test
+    void wrap_WithoutContext_ShouldReturnTaskUnchanged() {
+        Runnable task = () -> { };
+
+        assertSame(task, TraceContext.wrap(task));
+    }
+}
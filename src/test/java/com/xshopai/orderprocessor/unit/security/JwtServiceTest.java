@@ -0,0 +1,148 @@
+package com.xshopai.orderprocessor.security;
+
+import com.xshopai.orderprocessor.client.DaprSecretManager;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters";
+
+    @Mock
+    private DaprSecretManager secretManager;
+
+    private JwtService jwtService;
+    private SecretKey key;
+
+    @BeforeEach
+    void setUp() {
+        when(secretManager.getJwtSecret()).thenReturn(SECRET);
+        jwtService = new JwtService(secretManager);
+        ReflectionTestUtils.setField(jwtService, "jwtIssuer", "auth-service");
+        ReflectionTestUtils.setField(jwtService, "jwtAudience", "xshopai-platform");
+        ReflectionTestUtils.setField(jwtService, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(jwtService, "negativeCacheMaxEntries", 10);
+        ReflectionTestUtils.setField(jwtService, "negativeTtl", Duration.ofSeconds(30));
+        jwtService.initCaches();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnIdentityAndCacheIt() {
+        // Arrange
+        String token = token("auth-service", Instant.now().plusSeconds(600));
+
+        // Act
+        Optional<JwtService.VerifiedToken> first = jwtService.verify(token);
+        Optional<JwtService.VerifiedToken> second = jwtService.verify(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("admin@xshopai.com", first.get().username());
+        assertEquals("user-1", first.get().userId());
+        assertEquals(List.of("ROLE_ADMIN"),
+            first.get().authorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    void verify_WithWrongIssuer_ShouldBeRejectedAndNegativelyCached() {
+        // Arrange
+        String token = token("someone-else", Instant.now().plusSeconds(600));
+
+        // Act & Assert
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertTrue(jwtService.verify(token).isEmpty());
+        verify(secretManager, times(1)).getJwtSecret();
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldBeRejected() {
+        String token = token("auth-service", Instant.now().minusSeconds(60));
+
+        assertTrue(jwtService.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WithoutExpiration_ShouldBeRejectedAndNegativelyCached() {
+        // Arrange
+        String token = token("auth-service", null);
+
+        // Act & Assert
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertEquals(0, jwtService.cachedTokens());
+        assertEquals(1, jwtService.cachedRejections());
+    }
+
+    @Test
+    void verify_WithTamperedToken_ShouldBeRejected() {
+        String token = token("auth-service", Instant.now().plusSeconds(600));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void verify_WhenFloodedWithInvalidTokens_ShouldKeepValidTokensCached() {
+        // Arrange
+        String token = token("auth-service", Instant.now().plusSeconds(600));
+        JwtService.VerifiedToken verified = jwtService.verify(token).orElseThrow();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            assertTrue(jwtService.verify("garbage-" + i).isEmpty());
+        }
+
+        // Assert
+        assertSame(verified, jwtService.verify(token).orElseThrow());
+        assertEquals(1, jwtService.cachedTokens());
+        assertTrue(jwtService.cachedRejections() <= 10, "rejections cached: " + jwtService.cachedRejections());
+    }
+
+    @Test
+    void verify_WhenCacheFull_ShouldEvictTokensClosestToExpiry() {
+        // Arrange
+        String longLived = token("auth-service", Instant.now().plusSeconds(3600));
+        JwtService.VerifiedToken verified = jwtService.verify(longLived).orElseThrow();
+
+        // Act
+        for (int i = 0; i < 150; i++) {
+            jwtService.verify(token("auth-service", Instant.now().plusSeconds(60 + i)));
+        }
+
+        // Assert
+        assertTrue(jwtService.cachedTokens() <= 100, "tokens cached: " + jwtService.cachedTokens());
+        assertSame(verified, jwtService.verify(longLived).orElseThrow());
+    }
+
+    private String token(String issuer, Instant expiresAt) {
+        return Jwts.builder()
+            .issuer(issuer)
+            .audience().add("xshopai-platform").and()
+            .claim("email", "admin@xshopai.com")
+            .claim("id", "user-1")
+            .claim("roles", List.of("admin"))
+            .expiration(expiresAt != null ? Date.from(expiresAt) : null)
+            .signWith(key)
+            .compact();
+    }
+}
@@ -0,0 +1,92 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.diagnostics.DaprPublishEvent;
+import com.xshopai.orderprocessor.model.dto.JfrRecordingStatus;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingServiceTest {
+
+    private final JfrRecordingService service =
+        new JfrRecordingService(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "default");
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void start_ShouldCapDurationAndRejectSecondRecording() {
+        // Act
+        JfrRecordingStatus status = service.start(Duration.ofHours(1)).orElseThrow();
+
+        // Assert
+        assertEquals("RUNNING", status.state());
+        assertEquals(Duration.ofMinutes(1), status.duration());
+        assertTrue(service.start(null).isEmpty());
+    }
+
+    @Test
+    void dump_ShouldContainSagaEventsRecordedWhileRunning() throws Exception {
+        // Arrange
+        service.start(null);
+        DaprPublishEvent event = new DaprPublishEvent();
+        event.begin();
+        event.complete("order.completed", "order-1", true);
+        service.stop();
+
+        // Act
+        Path file = service.dump().orElseThrow();
+
+        // Assert
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e ->
+                e.getEventType().getName().equals("com.xshopai.orderprocessor.DaprPublish")
+                    && "order.completed".equals(e.getString("topic"))
+                    && "order-1".equals(e.getString("orderId"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void dump_ShouldNotContainEnvironmentOrSystemProperties() throws Exception {
+        // Arrange
+        service.start(null);
+        service.stop();
+
+        // Act
+        Path file = service.dump().orElseThrow();
+
+        // Assert
+        try {
+            List<String> types = RecordingFile.readAllEvents(file).stream()
+                .map(e -> e.getEventType().getName())
+                .distinct()
+                .toList();
+            assertFalse(types.isEmpty());
+            assertFalse(types.contains("jdk.InitialEnvironmentVariable"), types.toString());
+            assertFalse(types.contains("jdk.InitialSystemProperty"), types.toString());
+            assertFalse(types.contains("jdk.JVMInformation"), types.toString());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void stop_WithoutRecording_ShouldReturnEmpty() {
+        assertTrue(service.stop().isEmpty());
+        assertTrue(service.getStatus().isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package com.xshopai.orderprocessor.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderProcessorHealthIndicatorTest {
+
+    @Mock
+    private SagaStatusCounters statusCounters;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ReadinessMonitor readinessMonitor;
+
+    private OrderProcessorHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        ReadinessMonitor.Check ok = new ReadinessMonitor.Check(true, "ok");
+        when(readinessMonitor.getState()).thenReturn(new ReadinessMonitor.State(true,
+            Map.of(ReadinessMonitor.DATABASE, ok, ReadinessMonitor.DAPR_SIDECAR, ok), Instant.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (healthIndicator != null) {
+            healthIndicator.shutdown();
+        }
+    }
+
+    @Test
+    void health_ShouldServeSnapshotWithoutQueryingPerProbe() {
+        // Arrange
+        when(statusCounters.stuck(anyCollection())).thenReturn(0L);
+        healthIndicator = new OrderProcessorHealthIndicator(statusCounters, dataSource, readinessMonitor,
+            Duration.ofHours(1), Duration.ofHours(1));
+        healthIndicator.refresh();
+        clearInvocations(dataSource, readinessMonitor);
+
+        // Act
+        Health first = healthIndicator.health();
+        Health second = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.UP, first.getStatus());
+        assertSame(first, second);
+        verifyNoInteractions(dataSource, readinessMonitor);
+    }
+
+    @Test
+    void health_WhenStuckSagasAboveThreshold_ShouldBeDegraded() {
+        // Arrange
+        when(statusCounters.stuck(anyCollection())).thenReturn(7L);
+        healthIndicator = new OrderProcessorHealthIndicator(statusCounters, dataSource, readinessMonitor,
+            Duration.ofHours(1), Duration.ofHours(1));
+
+        // Act
+        healthIndicator.refresh();
+
+        // Assert
+        assertEquals(OrderProcessorHealthIndicator.DEGRADED, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_WhenSnapshotIsStale_ShouldBeDown() throws Exception {
+        // Arrange
+        healthIndicator = new OrderProcessorHealthIndicator(statusCounters, dataSource, readinessMonitor,
+            Duration.ofHours(1), Duration.ofMillis(1));
+        healthIndicator.refresh();
+        Thread.sleep(10);
+
+        // Act
+        Health health = healthIndicator.health();
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("Health snapshot is stale", health.getDetails().get("reason"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xshopai.orderprocessor.config.WorkloadRoutingDataSource;
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PgNotifyTransitionRelayTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private SagaStatusCounters statusCounters;
+
+    @Mock
+    private SagaTransitionBroadcaster broadcaster;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private PgNotifyTransitionRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new PgNotifyTransitionRelay(dataSource, objectMapper, statusCounters, broadcaster);
+    }
+
+    @Test
+    void receive_ShouldApplyTransitionsFromOtherInstances() throws Exception {
+        // Arrange
+        SagaTransition transition = transition();
+        String payload = objectMapper.writeValueAsString(new PgNotifyTransitionRelay.Envelope("other-instance", transition));
+
+        // Act
+        relay.receive(payload);
+
+        // Assert
+        verify(statusCounters).recordTransition(SagaStatus.PENDING_PAYMENT_CONFIRMATION, SagaStatus.CANCELLED);
+        verify(broadcaster).deliver(transition);
+    }
+
+    @Test
+    void receive_ShouldSkipOwnTransitions() throws Exception {
+        // Arrange
+        String instanceId = (String) ReflectionTestUtils.getField(relay, "instanceId");
+        String payload = objectMapper.writeValueAsString(new PgNotifyTransitionRelay.Envelope(instanceId, transition()));
+
+        // Act
+        relay.receive(payload);
+
+        // Assert
+        verifyNoInteractions(statusCounters, broadcaster);
+    }
+
+    @Test
+    void receive_ShouldIgnoreMalformedPayload() {
+        relay.receive("{not json");
+
+        verifyNoInteractions(statusCounters, broadcaster);
+    }
+
+    @Test
+    void openListenConnection_ShouldUseDedicatedConnectionOutsideThePools() throws Exception {
+        // Arrange
+        WorkloadRoutingDataSource routing = mock(WorkloadRoutingDataSource.class);
+        Connection dedicated = mock(Connection.class);
+        when(dataSource.isWrapperFor(WorkloadRoutingDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(WorkloadRoutingDataSource.class)).thenReturn(routing);
+        when(routing.openDedicatedConnection()).thenReturn(dedicated);
+
+        // Act & Assert
+        assertSame(dedicated, relay.openListenConnection());
+        verify(dataSource, never()).getConnection();
+        verify(routing, never()).getConnection();
+    }
+
+    private static SagaTransition transition() {
+        return new SagaTransition(UUID.randomUUID(), UUID.randomUUID(), "ORD-1",
+            SagaStatus.PENDING_PAYMENT_CONFIRMATION, SagaStatus.CANCELLED, Instant.parse("2025-01-01T00:00:00Z"));
+    }
+}
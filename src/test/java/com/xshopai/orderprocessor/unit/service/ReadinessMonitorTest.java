@@ -0,0 +1,202 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.config.DatabaseWorkload;
+import com.xshopai.orderprocessor.config.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.ComponentMetadata;
+import io.dapr.client.domain.DaprMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReadinessMonitorTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DaprClient daprClient;
+
+    @Mock
+    private SagaStatusCounters statusCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadinessMonitor readinessMonitor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(daprClient.waitForSidecar(anyInt())).thenReturn(Mono.empty());
+        DaprMetadata metadata = new DaprMetadata("order-processor-service", "1.12", List.of(), List.of(), Map.of(),
+            List.of(new ComponentMetadata("pubsub", "pubsub.redis", "v1", List.of())), List.of(), List.of(), null);
+        when(daprClient.getMetadata()).thenReturn(Mono.just(metadata));
+        when(statusCounters.getLastReconciledAt()).thenReturn(Instant.now());
+
+        meterRegistry = new SimpleMeterRegistry();
+        readinessMonitor = new ReadinessMonitor(dataSource, daprClient, meterRegistry, statusCounters, eventPublisher);
+        ReflectionTestUtils.setField(readinessMonitor, "probeInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(readinessMonitor, "probeTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(readinessMonitor, "maxPoolWait", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(readinessMonitor, "maxPoolPending", 10);
+        ReflectionTestUtils.setField(readinessMonitor, "pubsubName", "pubsub");
+    }
+
+    @AfterEach
+    void tearDown() {
+        readinessMonitor.shutdown();
+    }
+
+    @Test
+    void probe_BeforeApplicationReady_ShouldNotBeReady() {
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        ReadinessMonitor.State state = readinessMonitor.getState();
+        assertFalse(state.ready());
+        assertFalse(state.checks().get(ReadinessMonitor.WARMUP).ok());
+        assertTrue(state.checks().get(ReadinessMonitor.DATABASE).ok());
+    }
+
+    @Test
+    void probe_WhenAllDependenciesHealthy_ShouldAcceptTraffic() {
+        // Arrange
+        ReflectionTestUtils.setField(readinessMonitor, "applicationStarted", true);
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        assertTrue(readinessMonitor.getState().ready());
+        verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> event instanceof AvailabilityChangeEvent<?> change
+            && change.getState() == ReadinessState.ACCEPTING_TRAFFIC));
+    }
+
+    @Test
+    void probe_WhenIngestionPoolWaitExceedsThreshold_ShouldRefuseTraffic() {
+        // Arrange
+        ReflectionTestUtils.setField(readinessMonitor, "applicationStarted", true);
+        readinessMonitor.probe();
+        meterRegistry.timer("hikaricp.connections.acquire", "pool", "ingestion").record(Duration.ofSeconds(2));
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        ReadinessMonitor.State state = readinessMonitor.getState();
+        assertFalse(state.ready());
+        assertFalse(state.checks().get(ReadinessMonitor.POOL_WAIT).ok());
+        verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> event instanceof AvailabilityChangeEvent<?> change
+            && change.getState() == ReadinessState.REFUSING_TRAFFIC));
+    }
+
+    @Test
+    void probe_WhenPubsubComponentMissing_ShouldNotBeReady() {
+        // Arrange
+        ReflectionTestUtils.setField(readinessMonitor, "applicationStarted", true);
+        ReflectionTestUtils.setField(readinessMonitor, "pubsubName", "other-pubsub");
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        assertFalse(readinessMonitor.getState().checks().get(ReadinessMonitor.DAPR_METADATA).ok());
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    void probe_WhenIngestionPoolStalled_ShouldRefuseTraffic() throws Exception {
+        // Arrange: threads wait for a connection but no acquisition completes between probes
+        ReflectionTestUtils.setField(readinessMonitor, "applicationStarted", true);
+        meterRegistry.timer("hikaricp.connections.acquire", "pool", "ingestion").record(Duration.ofMillis(1));
+        readinessMonitor.probe();
+        ingestionPoolWaiting(3);
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        ReadinessMonitor.Check check = readinessMonitor.getState().checks().get(ReadinessMonitor.POOL_WAIT);
+        assertFalse(check.ok());
+        assertTrue(check.detail().contains("3 waiting"), check.detail());
+    }
+
+    @Test
+    void probe_WhenTooManyThreadsAwaitConnection_ShouldRefuseTraffic() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(readinessMonitor, "applicationStarted", true);
+        readinessMonitor.probe();
+        ingestionPoolWaiting(11);
+        meterRegistry.timer("hikaricp.connections.acquire", "pool", "ingestion").record(Duration.ofMillis(1));
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        assertFalse(readinessMonitor.getState().checks().get(ReadinessMonitor.POOL_WAIT).ok());
+    }
+
+    @Test
+    void probe_ShouldValidateDatabaseThroughAdminPool() throws Exception {
+        // Arrange
+        DatabaseWorkload[] probedWith = new DatabaseWorkload[1];
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            probedWith[0] = DatabaseWorkload.current();
+            return connection;
+        });
+
+        // Act
+        readinessMonitor.probe();
+
+        // Assert
+        assertEquals(DatabaseWorkload.ADMIN, probedWith[0]);
+        assertEquals(DatabaseWorkload.BACKGROUND, DatabaseWorkload.current());
+    }
+
+    private void ingestionPoolWaiting(int threads) throws Exception {
+        WorkloadRoutingDataSource routing = mock(WorkloadRoutingDataSource.class);
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean poolBean = mock(HikariPoolMXBean.class);
+        when(dataSource.isWrapperFor(WorkloadRoutingDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(WorkloadRoutingDataSource.class)).thenReturn(routing);
+        when(routing.getPools()).thenReturn(Map.of("ingestion", pool));
+        when(pool.getHikariPoolMXBean()).thenReturn(poolBean);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(threads);
+    }
+}
@@ -0,0 +1,183 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xshopai.orderprocessor.exception.SagaProcessingException;
+import com.xshopai.orderprocessor.service.SagaBulkImportService.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SagaBulkImportServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @Mock
+    private SagaStatusCounters statusCounters;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        lenient().when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+    }
+
+    @Test
+    void importFile_ShouldMergeEveryChunkUntilInputEnds() throws Exception {
+        // Arrange
+        SagaBulkImportService service = service(new ObjectMapper().findAndRegisterModules(), 2, 1000);
+        when(statement.executeUpdate(anyString())).thenReturn(1000, 1000, 500);
+        Path file = writeLines(validLines(2500));
+
+        // Act
+        ImportResult result = service.importFile(file);
+
+        // Assert
+        assertEquals(2500, result.linesRead());
+        assertEquals(2500, result.rowsParsed());
+        assertEquals(2500, result.rowsInserted());
+        verify(copyIn, times(3)).writeToCopy(any(byte[].class), eq(0), anyInt());
+        verify(copyIn, times(3)).endCopy();
+        verify(connection, never()).rollback();
+        verify(statusCounters).reconcile();
+    }
+
+    @Test
+    void importFile_ShouldRejectMalformedAndIncompleteLines() throws Exception {
+        // Arrange
+        SagaBulkImportService service = service(new ObjectMapper().findAndRegisterModules(), 1, 1000);
+        when(statement.executeUpdate(anyString())).thenReturn(2);
+        List<String> lines = new ArrayList<>(validLines(2));
+        lines.add("{\"orderId\": ");
+        lines.add("{\"customerId\": \"customer-1\"}");
+        Path file = writeLines(lines);
+
+        // Act
+        ImportResult result = service.importFile(file);
+
+        // Assert
+        assertEquals(4, result.linesRead());
+        assertEquals(2, result.rowsParsed());
+        assertEquals(2, result.rowsRejected());
+        assertEquals(2, result.rowsInserted());
+    }
+
+    @Test
+    void importFile_ShouldFail_WhenParseWorkerThrows() throws Exception {
+        // Arrange
+        ObjectMapper failingMapper = new ObjectMapper() {
+            @Override
+            public String writeValueAsString(Object value) {
+                throw new IllegalStateException("encoder bug");
+            }
+        };
+        failingMapper.findAndRegisterModules();
+        SagaBulkImportService service = service(failingMapper, 2, 1000);
+        Path file = writeLines(validLines(10));
+
+        // Act & Assert
+        SagaProcessingException error = assertThrows(SagaProcessingException.class, () -> service.importFile(file));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        verify(statement, never()).executeUpdate(anyString());
+        verify(statusCounters, never()).reconcile();
+    }
+
+    @Test
+    void importFile_ShouldStopWriter_WhenReaderInterrupted() throws Exception {
+        // Arrange: the writer stalls on its first batch until the blocked reader is interrupted
+        SagaBulkImportService service = service(new ObjectMapper().findAndRegisterModules(), 1, 100_000);
+        doAnswer(invocation -> {
+            Thread reader = awaitBlockedReader();
+            reader.interrupt();
+            reader.join(5_000);
+            return null;
+        }).doNothing().when(copyIn).writeToCopy(any(byte[].class), eq(0), anyInt());
+        Path file = writeLines(validLines(15_000));
+
+        // Act & Assert
+        SagaProcessingException error = assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> assertThrows(SagaProcessingException.class, () -> service.importFile(file)));
+        assertInstanceOf(InterruptedException.class, error.getCause());
+        verify(statement, never()).executeUpdate(anyString());
+        verify(connection).rollback();
+    }
+
+    private SagaBulkImportService service(ObjectMapper objectMapper, int parallelism, int chunkSize) {
+        SagaBulkImportService service = new SagaBulkImportService(dataSource, objectMapper, statusCounters);
+        ReflectionTestUtils.setField(service, "configuredParallelism", parallelism);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "progressInterval", 1_000_000L);
+        return service;
+    }
+
+    private Path writeLines(List<String> lines) throws IOException {
+        return Files.write(tempDir.resolve("orders.ndjson"), lines);
+    }
+
+    private static List<String> validLines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("{\"orderId\":\"" + UUID.randomUUID() + "\",\"customerId\":\"customer-" + i
+                + "\",\"orderNumber\":\"ORD-" + i + "\",\"totalAmount\":19.99,\"currency\":\"USD\","
+                + "\"shippingAddress\":{\"city\":\"Seattle\"}}");
+        }
+        return lines;
+    }
+
+    private static Thread awaitBlockedReader() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().equals("saga-import-reader")
+                        && (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)) {
+                    return thread;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import reader never blocked");
+    }
+}
@@ -0,0 +1,145 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher;
+import com.xshopai.orderprocessor.exception.InvalidRequestException;
+import com.xshopai.orderprocessor.model.dto.BulkJobStatus;
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest;
+import com.xshopai.orderprocessor.model.dto.BulkOperationRequest.Action;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SagaBulkOperationServiceTest {
+
+    @Mock
+    private OrderProcessingSagaRepository sagaRepository;
+
+    @Mock
+    private SagaQueryRepository sagaQueryRepository;
+
+    @Mock
+    private SagaOrchestratorService orchestratorService;
+
+    @Mock
+    private DaprEventPublisher daprEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SagaBulkOperationService bulkOperationService;
+
+    @BeforeEach
+    void setUp() {
+        bulkOperationService = new SagaBulkOperationService(sagaRepository, sagaQueryRepository,
+            orchestratorService, daprEventPublisher, transactionManager, 2, 1, 1_000_000);
+        ReflectionTestUtils.setField(bulkOperationService, "chunkSize", 10);
+        ReflectionTestUtils.setField(bulkOperationService, "maxSagas", 100);
+        ReflectionTestUtils.setField(bulkOperationService, "jobRetention", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkOperationService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldProcessSagasInChunks() throws Exception {
+        // Arrange
+        List<UUID> ids = IntStream.range(0, 25).mapToObj(i -> UUID.randomUUID()).toList();
+        when(sagaRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<UUID> chunk = invocation.getArgument(0);
+            List<OrderProcessingSaga> sagas = new ArrayList<>();
+            chunk.forEach(id -> {
+                OrderProcessingSaga saga = new OrderProcessingSaga();
+                saga.setId(id);
+                sagas.add(saga);
+            });
+            return sagas;
+        });
+        // 3 of the 25 sagas are not in an eligible state
+        when(orchestratorService.applyBulkAction(any(), eq(Action.CANCEL), eq("recall"), anyList()))
+            .thenReturn(false, true, true, true, true, true, true, true, true, true,
+                        false, true, true, true, true, true, true, true, true, true,
+                        false, true, true, true, true);
+
+        // Act
+        BulkJobStatus queued = bulkOperationService.submit(
+            new BulkOperationRequest(Action.CANCEL, ids, null, "recall")).orElseThrow();
+        BulkJobStatus finished = awaitFinished(queued.id());
+
+        // Assert
+        assertEquals(BulkJobStatus.State.COMPLETED, finished.state());
+        assertEquals(25, finished.total());
+        assertEquals(25, finished.processed());
+        assertEquals(22, finished.succeeded());
+        assertEquals(3, finished.skipped());
+        assertEquals(0, finished.failed());
+        verify(transactionManager, times(3)).commit(any());
+        verify(daprEventPublisher, times(3)).publishEvents(anyList());
+        verify(orchestratorService, times(22)).recordBulkAction(any(), eq(Action.CANCEL));
+    }
+
+    @Test
+    void submit_ShouldNotRecordMetrics_WhenChunkRollsBack() throws Exception {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(sagaRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<OrderProcessingSaga> sagas = new ArrayList<>();
+            invocation.<Iterable<UUID>>getArgument(0).forEach(id -> sagas.add(new OrderProcessingSaga()));
+            return sagas;
+        });
+        when(orchestratorService.applyBulkAction(any(), eq(Action.COMPENSATE), isNull(), anyList())).thenReturn(true);
+        doThrow(new IllegalStateException("commit failed")).when(transactionManager).commit(any());
+
+        // Act
+        BulkJobStatus queued = bulkOperationService.submit(
+            new BulkOperationRequest(Action.COMPENSATE, ids, null, null)).orElseThrow();
+        BulkJobStatus finished = awaitFinished(queued.id());
+
+        // Assert
+        assertEquals(2, finished.failed());
+        assertEquals(0, finished.succeeded());
+        verify(orchestratorService, never()).recordBulkAction(any(), any());
+        verify(daprEventPublisher).publishEvents(List.of());
+    }
+
+    @Test
+    void submit_WithoutTargets_ShouldBeRejected() {
+        assertThrows(InvalidRequestException.class, () -> bulkOperationService.submit(
+            new BulkOperationRequest(Action.CANCEL, List.of(), null, null)));
+        assertThrows(InvalidRequestException.class, () -> bulkOperationService.submit(
+            new BulkOperationRequest(Action.CANCEL, null, new SagaSearchCriteria(null, null), null)));
+    }
+
+    private BulkJobStatus awaitFinished(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            BulkJobStatus status = bulkOperationService.getJob(jobId).orElseThrow();
+            if (status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Bulk job did not finish");
+        return null;
+    }
+}
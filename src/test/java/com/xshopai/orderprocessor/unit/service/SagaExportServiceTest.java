@@ -0,0 +1,90 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xshopai.orderprocessor.model.dto.SagaSearchCriteria;
+import com.xshopai.orderprocessor.model.dto.SagaSummary;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
+import com.xshopai.orderprocessor.repository.SagaQueryRepository;
+import com.xshopai.orderprocessor.service.SagaExportService.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SagaExportServiceTest {
+
+    @Mock
+    private SagaQueryRepository sagaQueryRepository;
+
+    private SagaExportService exportService;
+    private SagaSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new SagaExportService(sagaQueryRepository, objectMapper);
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        summary = new SagaSummary(UUID.randomUUID(), UUID.randomUUID(), "ORD-100", "customer-1",
+            OrderProcessingSaga.SagaStatus.CANCELLED, OrderProcessingSaga.ProcessingStep.AWAITING_PAYMENT,
+            new BigDecimal("12.50"), "USD", "Payment failed: \"declined\"", createdAt, createdAt, null);
+
+        when(sagaQueryRepository.streamAll(any(SagaSearchCriteria.class), any())).thenAnswer(invocation -> {
+            Consumer<SagaSummary> consumer = invocation.getArgument(1);
+            consumer.accept(summary);
+            consumer.accept(summary);
+            return 2L;
+        });
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneDocumentPerLine() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(new SagaSearchCriteria(null, null), ExportFormat.NDJSON, false, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"" + summary.id()));
+        assertTrue(lines[1].contains("\"orderNumber\":\"ORD-100\""));
+    }
+
+    @Test
+    void export_AsGzippedCsv_ShouldWriteHeaderAndQuotedRows() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(new SagaSearchCriteria(null, null), ExportFormat.CSV, true, out);
+
+        // Assert
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("\"id\",\"order_id\""));
+        assertTrue(lines[1].contains("\"Payment failed: \"\"declined\"\"\""));
+        assertTrue(lines[1].endsWith(","), "null completed_at should be an empty field");
+    }
+}
@@ -0,0 +1,151 @@
+package com.xshopai.orderprocessor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter;
+import com.xshopai.orderprocessor.diagnostics.StatementCounter.Kind;
+import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
+import com.xshopai.orderprocessor.model.entity.SagaStatusListener;
+import com.xshopai.orderprocessor.model.events.OrderCreatedEvent;
+import com.xshopai.orderprocessor.model.events.PaymentFailedEvent;
+import com.xshopai.orderprocessor.model.events.PaymentProcessedEvent;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.support.StatementBudget;
+import io.micrometer.observation.ObservationRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement budgets for the saga handlers without Docker
+ *
+ * Runs the same budgets as SagaOrchestratorStatementBudgetTest against H2 in PostgreSQL mode,
+ * with the schema generated from the entities. Hibernate's own statements, including the
+ * commit-time flush, go through the counting DataSource.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SagaOrchestratorService.class, SagaStatusListener.class, SagaHandlerStatementBudgetTest.Config.class})
+class SagaHandlerStatementBudgetTest {
+
+    @MockBean
+    private DaprEventPublisher daprEventPublisher;
+
+    @MockBean
+    private SagaMetricsService metricsService;
+
+    @Autowired
+    private SagaOrchestratorService orchestrator;
+
+    @Autowired
+    private OrderProcessingSagaRepository sagaRepository;
+
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sagaRepository.deleteAll();
+    }
+
+    @Test
+    void startOrderProcessingSaga_ShouldCheckThenInsertOnce() {
+        StatementBudget.atMost(2)
+            .atMost(Kind.SELECT, 1)
+            .atMost(Kind.INSERT, 1)
+            .verify(() -> orchestrator.startOrderProcessingSaga(orderCreated()));
+    }
+
+    @Test
+    void startOrderProcessingSaga_ShouldOnlyCheck_WhenRedelivered() {
+        orchestrator.startOrderProcessingSaga(orderCreated());
+
+        StatementBudget.atMost(1)
+            .verify(() -> orchestrator.startOrderProcessingSaga(orderCreated()));
+    }
+
+    @Test
+    void handlePaymentProcessed_ShouldLoadAndUpdateOnce() {
+        orchestrator.startOrderProcessingSaga(orderCreated());
+        PaymentProcessedEvent event = new PaymentProcessedEvent();
+        event.setOrderId(orderId);
+        event.setPaymentId("pay-1");
+
+        StatementBudget.atMost(2)
+            .atMost(Kind.UPDATE, 1)
+            .noRepeatedSelects()
+            .verify(() -> orchestrator.handlePaymentProcessed(event));
+    }
+
+    @Test
+    void handlePaymentFailed_ShouldWriteFailureAndCompensationInOneUpdate() {
+        orchestrator.startOrderProcessingSaga(orderCreated());
+        PaymentFailedEvent event = new PaymentFailedEvent();
+        event.setOrderId(orderId);
+        event.setReason("card declined");
+
+        StatementBudget.atMost(2)
+            .atMost(Kind.UPDATE, 1)
+            .noRepeatedSelects()
+            .verify(() -> orchestrator.handlePaymentFailed(event));
+
+        assertEquals(OrderProcessingSaga.SagaStatus.COMPENSATED,
+            sagaRepository.findByOrderId(orderId).orElseThrow().getStatus());
+    }
+
+    private OrderCreatedEvent orderCreated() {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(orderId);
+        event.setCustomerId("customer123");
+        event.setOrderNumber("ORD-20250811-ABC123");
+        event.setTotalAmount(BigDecimal.valueOf(99.99));
+        event.setCurrency("USD");
+        return event;
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:saga-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            return StatementCounter.countingDataSource(h2, "test");
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry() {
+            return ObservationRegistry.NOOP;
+        }
+    }
+}
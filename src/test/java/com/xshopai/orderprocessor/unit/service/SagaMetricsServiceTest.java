@@ -0,0 +1,72 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.service.SagaMetricsService.FailureCode;
+import com.xshopai.orderprocessor.service.SagaMetricsService.Step;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SagaMetricsServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SagaMetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new SagaMetricsService(
+            new SagaStatusCounters(mock(OrderProcessingSagaRepository.class)), meterRegistry);
+    }
+
+    @Test
+    void meterCount_ShouldStayConstant_AcrossOneMillionSagas() {
+        // Arrange
+        int metersAtStartup = meterRegistry.getMeters().size();
+        Step[] steps = Step.values();
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        // Act
+        for (int i = 0; i < 1_000_000; i++) {
+            metricsService.recordSagaStarted();
+            metricsService.recordStepProcessing(steps[i % steps.length]);
+            metricsService.recordStepDwell(steps[i % steps.length], i % 10 != 0,
+                startedAt, startedAt.plusSeconds(i % 3600));
+            if (i % 10 == 0) {
+                metricsService.recordRetry(steps[i % steps.length]);
+                metricsService.recordCompensation(steps[i % steps.length]);
+                // Free-text reasons are unique per order and must not leak into tags
+                metricsService.recordSagaFailed(
+                    FailureCode.classify("Payment failed: card declined for ORD-" + i), Duration.ofMillis(i % 1000));
+            } else if (i % 10 == 1) {
+                metricsService.recordSagaCancelled();
+            } else if (i % 10 == 2) {
+                metricsService.recordSagaDeleted();
+            } else {
+                metricsService.recordSagaCompleted(Duration.ofMillis(i % 1000));
+            }
+        }
+
+        // Assert
+        assertEquals(metersAtStartup, meterRegistry.getMeters().size());
+        assertEquals(1_000_000, meterRegistry.get("saga.started.total").counter().count());
+        assertEquals(100_000, meterRegistry.get("saga.failed.total")
+            .tag("failure_code", FailureCode.PAYMENT_FAILED.name()).counter().count());
+    }
+
+    @Test
+    void classify_ShouldMapReasonsToBoundedCodes() {
+        assertEquals(FailureCode.PAYMENT_FAILED, FailureCode.classify("Payment failed: insufficient funds"));
+        assertEquals(FailureCode.INVENTORY_FAILED, FailureCode.classify("Inventory reservation failed: out of stock"));
+        assertEquals(FailureCode.SHIPPING_FAILED, FailureCode.classify("Shipping preparation failed: no carrier"));
+        assertEquals(FailureCode.INTERRUPTED, FailureCode.classify("Inventory retry interrupted"));
+        assertEquals(FailureCode.UNKNOWN, FailureCode.classify("something else"));
+        assertEquals(FailureCode.UNKNOWN, FailureCode.classify(null));
+    }
+}
@@ -2,25 +2,36 @@ package com.xshopai.orderprocessor.service;
 
 import com.xshopai.orderprocessor.events.publisher.DaprEventPublisher;
 import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga;
+import com.xshopai.orderprocessor.model.events.InventoryReservedEvent;
 import com.xshopai.orderprocessor.model.events.OrderCreatedEvent;
 import com.xshopai.orderprocessor.model.events.PaymentProcessedEvent;
 import com.xshopai.orderprocessor.model.events.PaymentFailedEvent;
 import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.service.SagaMetricsService.Step;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,7 +89,37 @@ class SagaOrchestratorServiceTest {
         verify(sagaRepository).existsByOrderId(orderCreatedEvent.getOrderId());
         verify(sagaRepository).save(any(OrderProcessingSaga.class));
         verify(daprEventPublisher).publishPaymentProcessing(any());
-        verify(metricsService).recordSagaStarted(orderCreatedEvent.getOrderNumber());
+        verify(metricsService).recordSagaStarted();
+    }
+
+    @Test
+    void startOrderProcessingSaga_ShouldTraceStatusTransition() {
+        // Arrange
+        List<Observation.Context> observed = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                observed.add(context);
+            }
+        });
+        ReflectionTestUtils.setField(sagaOrchestratorService, "observationRegistry", observationRegistry);
+        when(sagaRepository.existsByOrderId(orderCreatedEvent.getOrderId())).thenReturn(false);
+        when(sagaRepository.save(any(OrderProcessingSaga.class))).thenReturn(testSaga);
+
+        // Act
+        sagaOrchestratorService.startOrderProcessingSaga(orderCreatedEvent);
+
+        // Assert
+        assertEquals(1, observed.size());
+        assertEquals("saga.transition", observed.get(0).getName());
+        assertEquals("PENDING_PAYMENT_CONFIRMATION",
+            observed.get(0).getLowCardinalityKeyValue("to").getValue());
     }
 
     @Test
@@ -116,6 +157,43 @@ class SagaOrchestratorServiceTest {
         assertEquals("payment123", testSaga.getPaymentId());
     }
 
+    @Test
+    void handlePaymentProcessed_ShouldStartInventoryClock() {
+        // Arrange
+        PaymentProcessedEvent paymentEvent = new PaymentProcessedEvent();
+        paymentEvent.setOrderId(testSaga.getOrderId());
+        paymentEvent.setPaymentId("payment123");
+        when(sagaRepository.findByOrderId(paymentEvent.getOrderId())).thenReturn(Optional.of(testSaga));
+        when(sagaRepository.save(any(OrderProcessingSaga.class))).thenReturn(testSaga);
+
+        // Act
+        sagaOrchestratorService.handlePaymentProcessed(paymentEvent);
+
+        // Assert
+        assertNotNull(testSaga.getInventoryProcessingStartedAt());
+        assertNull(testSaga.getInventoryProcessingCompletedAt());
+    }
+
+    @Test
+    void handleInventoryReserved_ShouldRecordDwellSincePaymentConfirmed() {
+        // Arrange
+        LocalDateTime requestedAt = LocalDateTime.now().minusSeconds(30);
+        testSaga.setInventoryProcessingStartedAt(requestedAt);
+        InventoryReservedEvent reservedEvent = new InventoryReservedEvent();
+        reservedEvent.setOrderId(testSaga.getOrderId());
+        reservedEvent.setReservationId("reservation-1");
+        when(sagaRepository.findByOrderId(reservedEvent.getOrderId())).thenReturn(Optional.of(testSaga));
+        when(sagaRepository.save(any(OrderProcessingSaga.class))).thenReturn(testSaga);
+
+        // Act
+        sagaOrchestratorService.handleInventoryReserved(reservedEvent);
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> completedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(metricsService).recordStepDwell(eq(Step.INVENTORY), eq(true), eq(requestedAt), completedAt.capture());
+        assertTrue(Duration.between(requestedAt, completedAt.getValue()).toSeconds() >= 30);
+    }
+
     @Test
     void handlePaymentFailed_ShouldRetry_WhenRetryCountBelowLimit() {
         // Arrange
@@ -190,7 +268,11 @@ class SagaOrchestratorServiceTest {
         verify(sagaRepository, atLeast(1)).save(testSaga);
         assertEquals(OrderProcessingSaga.SagaStatus.COMPENSATED, testSaga.getStatus());
         assertEquals(errorMessage, testSaga.getErrorMessage());
-        verify(daprEventPublisher).publishPaymentRefund(testSaga.getOrderId(), "payment123");
-        verify(daprEventPublisher).publishInventoryRelease(testSaga.getOrderId(), "reservation123");
+        verify(daprEventPublisher).publishEvent("payment.refund",
+            DaprEventPublisher.paymentRefund(testSaga.getOrderId(), "payment123").data());
+        verify(daprEventPublisher).publishEvent("inventory.release",
+            DaprEventPublisher.inventoryRelease(testSaga.getOrderId(), "reservation123").data());
+        verify(metricsService).recordCompensation(Step.PAYMENT);
+        verify(metricsService).recordCompensation(Step.INVENTORY);
     }
 }
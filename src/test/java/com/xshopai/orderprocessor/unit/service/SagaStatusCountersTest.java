@@ -0,0 +1,86 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository;
+import com.xshopai.orderprocessor.repository.OrderProcessingSagaRepository.StatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SagaStatusCountersTest {
+
+    @Mock
+    private OrderProcessingSagaRepository sagaRepository;
+
+    private SagaStatusCounters statusCounters;
+
+    @BeforeEach
+    void setUp() {
+        statusCounters = new SagaStatusCounters(sagaRepository);
+    }
+
+    @Test
+    void recordTransition_ShouldMoveCountBetweenStatuses() {
+        // Act
+        statusCounters.recordTransition(null, SagaStatus.PENDING_PAYMENT_CONFIRMATION);
+        statusCounters.recordTransition(null, SagaStatus.PENDING_PAYMENT_CONFIRMATION);
+        statusCounters.recordTransition(SagaStatus.PENDING_PAYMENT_CONFIRMATION, SagaStatus.PAYMENT_CONFIRMED);
+        statusCounters.recordTransition(SagaStatus.PAYMENT_CONFIRMED, null);
+
+        // Assert
+        assertEquals(1, statusCounters.get(SagaStatus.PENDING_PAYMENT_CONFIRMATION));
+        assertEquals(0, statusCounters.get(SagaStatus.PAYMENT_CONFIRMED));
+        assertEquals(1, statusCounters.total());
+        verifyNoInteractions(sagaRepository);
+    }
+
+    @Test
+    void reconcile_ShouldReplaceCountsWithGroupedTotals() {
+        // Arrange
+        statusCounters.recordTransition(null, SagaStatus.CANCELLED);
+        when(sagaRepository.countGroupedByStatus(any(LocalDateTime.class))).thenReturn(List.of(
+            statusCount(SagaStatus.PENDING_PAYMENT_CONFIRMATION, 7, 2L),
+            statusCount(SagaStatus.COMPLETED, 40, 40L)
+        ));
+
+        // Act
+        statusCounters.reconcile();
+
+        // Assert
+        assertEquals(7, statusCounters.get(SagaStatus.PENDING_PAYMENT_CONFIRMATION));
+        assertEquals(40, statusCounters.get(SagaStatus.COMPLETED));
+        assertEquals(0, statusCounters.get(SagaStatus.CANCELLED));
+        assertEquals(2, statusCounters.stuck(List.of(SagaStatus.PENDING_PAYMENT_CONFIRMATION, SagaStatus.PAYMENT_CONFIRMED)));
+        assertNotNull(statusCounters.getLastReconciledAt());
+        verify(sagaRepository, times(1)).countGroupedByStatus(any(LocalDateTime.class));
+    }
+
+    private static StatusCount statusCount(SagaStatus status, long total, Long stuck) {
+        return new StatusCount() {
+            @Override
+            public SagaStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Long getStuck() {
+                return stuck;
+            }
+        };
+    }
+}
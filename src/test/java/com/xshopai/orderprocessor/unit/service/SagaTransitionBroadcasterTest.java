@@ -0,0 +1,187 @@
+package com.xshopai.orderprocessor.service;
+
+import com.xshopai.orderprocessor.model.dto.SagaTransition;
+import com.xshopai.orderprocessor.model.entity.OrderProcessingSaga.SagaStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class SagaTransitionBroadcasterTest {
+
+    @Mock
+    private SagaStatusCounters statusCounters;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private SagaTransitionBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(statusCounters.snapshot()).thenReturn(Map.of(SagaStatus.COMPLETED, 3L));
+        lenient().when(statusCounters.total()).thenReturn(3L);
+        broadcaster = new SagaTransitionBroadcaster(statusCounters) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(broadcaster, "bufferSize", 16);
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(broadcaster, "snapshotInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(broadcaster, "timeout", Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(RecordingEmitter::timeOut);
+    }
+
+    @Test
+    void subscribe_ShouldSendSnapshotOnConnect() throws Exception {
+        // Act
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe().orElseThrow();
+
+        // Assert
+        Event event = emitter.next();
+        assertEquals(SagaTransitionBroadcaster.SNAPSHOT_EVENT, event.name());
+        assertEquals(3L, ((SagaTransitionBroadcaster.Snapshot) event.data()).total());
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_ShouldRefuse_WhenSubscriberLimitReached() {
+        broadcaster.subscribe().orElseThrow();
+        broadcaster.subscribe().orElseThrow();
+
+        assertTrue(broadcaster.subscribe().isEmpty());
+    }
+
+    @Test
+    void deliver_ShouldFanOutToEverySubscriber() throws Exception {
+        // Arrange
+        RecordingEmitter first = (RecordingEmitter) broadcaster.subscribe().orElseThrow();
+        RecordingEmitter second = (RecordingEmitter) broadcaster.subscribe().orElseThrow();
+        first.next();
+        second.next();
+        SagaTransition transition = new SagaTransition(UUID.randomUUID(), UUID.randomUUID(), "ORD-1",
+            SagaStatus.PENDING_PAYMENT_CONFIRMATION, SagaStatus.PENDING_SHIPPING_PREPARATION, Instant.now());
+
+        // Act
+        broadcaster.deliver(transition);
+
+        // Assert
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            Event event = emitter.next();
+            assertEquals(SagaTransitionBroadcaster.TRANSITION_EVENT, event.name());
+            assertEquals(transition, event.data());
+        }
+    }
+
+    @Test
+    void timeout_ShouldCompleteEmitterAndRemoveSubscriber() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe().orElseThrow();
+        emitter.next();
+
+        // Act
+        emitter.timeOut();
+
+        // Assert
+        assertTrue(emitter.completed);
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void disconnect_ShouldRemoveSubscriberOnFailedWrite() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe().orElseThrow();
+        emitter.next();
+        emitter.failure = new IOException("Broken pipe");
+
+        // Act
+        broadcaster.deliver(new SagaTransition(UUID.randomUUID(), UUID.randomUUID(), "ORD-2",
+            null, SagaStatus.PENDING_PAYMENT_CONFIRMATION, Instant.now()));
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private record Event(String name, Object data) {
+    }
+
+    /**
+     * Emitter that records sent events instead of writing to a response
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        private volatile Runnable timeoutCallback;
+        private volatile IOException failure;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                } else if (!(part.getData() instanceof String)) {
+                    data = part.getData();
+                }
+            }
+            events.add(new Event(name, data));
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            this.timeoutCallback = callback;
+            super.onTimeout(callback);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no event sent");
+            return event;
+        }
+
+        void timeOut() {
+            timeoutCallback.run();
+        }
+    }
+}
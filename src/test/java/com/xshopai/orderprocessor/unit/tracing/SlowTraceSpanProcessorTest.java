@@ -0,0 +1,111 @@
+package com.xshopai.orderprocessor.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowTraceSpanProcessorTest {
+
+    private final List<SpanData> exported = new CopyOnWriteArrayList<>();
+    private SlowTraceSpanProcessor processor;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        SpanExporter exporter = new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                exported.addAll(spans);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+        processor = new SlowTraceSpanProcessor(SimpleSpanProcessor.create(exporter), Duration.ofMillis(500));
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    @Test
+    void onEnd_FastTrace_ShouldDropAllSpans() {
+        // Act
+        runTrace(100, null);
+
+        // Assert
+        assertTrue(exported.isEmpty());
+        assertEquals(0, processor.pendingTraces());
+    }
+
+    @Test
+    void onEnd_SlowRoot_ShouldExportWholeTrace() {
+        // Act
+        runTrace(800, null);
+
+        // Assert
+        assertEquals(List.of("child", "root"), exported.stream().map(SpanData::getName).toList());
+    }
+
+    @Test
+    void onEnd_FailedChild_ShouldExportWholeTrace() {
+        // Act
+        runTrace(100, child -> child.setStatus(StatusCode.ERROR));
+
+        // Assert
+        assertEquals(2, exported.size());
+    }
+
+    @Test
+    void onEnd_ExemplarChild_ShouldExportWholeTrace() {
+        // Act
+        runTrace(100, child -> child.setAttribute(SlowTraceSpanProcessor.EXEMPLAR, true));
+
+        // Assert
+        assertEquals(2, exported.size());
+    }
+
+    private void runTrace(long rootMillis, Consumer<Span> childCustomizer) {
+        long start = System.currentTimeMillis();
+        Span root = tracer.spanBuilder("root").setStartTimestamp(start, TimeUnit.MILLISECONDS).startSpan();
+        Span child = tracer.spanBuilder("child")
+            .setParent(Context.root().with(root))
+            .setStartTimestamp(start + 10, TimeUnit.MILLISECONDS)
+            .startSpan();
+        if (childCustomizer != null) {
+            childCustomizer.accept(child);
+        }
+        child.end(start + 20, TimeUnit.MILLISECONDS);
+        root.end(start + rootMillis, TimeUnit.MILLISECONDS);
+    }
+}
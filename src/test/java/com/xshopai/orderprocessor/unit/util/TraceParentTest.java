@@ -0,0 +1,60 @@
+package com.xshopai.orderprocessor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceParentTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    void parse_WithSampledHeader_ShouldReuseHeader() {
+        // Arrange
+        String header = "00-" + TRACE_ID + "-" + SPAN_ID + "-01";
+
+        // Act
+        TraceParent parsed = TraceParent.parse(header);
+
+        // Assert
+        assertNotNull(parsed);
+        assertEquals(TRACE_ID, parsed.traceId());
+        assertEquals(SPAN_ID, parsed.spanId());
+        assertSame(header, parsed.header());
+    }
+
+    @Test
+    void parse_WithUnsampledHeader_ShouldPropagateAsSampled() {
+        TraceParent parsed = TraceParent.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00");
+
+        assertNotNull(parsed);
+        assertEquals("00-" + TRACE_ID + "-" + SPAN_ID + "-01", parsed.header());
+    }
+
+    @Test
+    void parse_WithInvalidHeaders_ShouldReturnNull() {
+        assertNull(TraceParent.parse(null));
+        assertNull(TraceParent.parse(""));
+        assertNull(TraceParent.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01"));
+        assertNull(TraceParent.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01"));
+        assertNull(TraceParent.parse("00-" + TRACE_ID + "_" + SPAN_ID + "-01"));
+        assertNull(TraceParent.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-0g"));
+        assertNull(TraceParent.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-01 "));
+        assertNull(TraceParent.parse("00-" + "0".repeat(32) + "-" + SPAN_ID + "-01"));
+        assertNull(TraceParent.parse("00-" + TRACE_ID + "-" + "0".repeat(16) + "-01"));
+    }
+
+    @Test
+    void generate_ShouldProduceParseableHeader() {
+        for (int i = 0; i < 100; i++) {
+            TraceParent generated = TraceParent.generate();
+
+            TraceParent parsed = TraceParent.parse(generated.header());
+
+            assertNotNull(parsed, generated.header());
+            assertEquals(generated.traceId(), parsed.traceId());
+            assertEquals(generated.spanId(), parsed.spanId());
+        }
+    }
+}